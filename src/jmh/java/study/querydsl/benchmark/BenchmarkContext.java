@@ -0,0 +1,84 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QueryDslApplication;
+import study.querydsl.datagen.SyntheticDataLoader;
+import study.querydsl.datagen.SyntheticDataSpec;
+
+import java.util.function.Consumer;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * - 웹서버 없이 임베디드(in-memory) H2 로 기동하고, SQL 로그/포맷팅은 끈다.
+ * - 측정 대상이 쿼리 처리 비용이므로 p6spy 데코레이터도 제외한다.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final EntityManagerFactory emf;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.emf = context.getBean(EntityManagerFactory.class);
+    }
+
+    public static BenchmarkContext start(String databaseName, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QueryDslApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "decorator.datasource.enabled=false",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=warn")
+                .properties(properties) // 벤치마크별 추가 설정
+                .run();
+        return new BenchmarkContext(context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public EntityManager createEntityManager() {
+        return emf.createEntityManager();
+    }
+
+    /** 별도 트랜잭션으로 데이터를 적재한다. */
+    public void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    /**
+     * teamCount 개의 팀에 memberCount 명의 회원을 고르게 나눠 적재한다. (QuerydslBasicTest.before() 확장판)
+     * username=member{i}, age=i%100, team=team{i%teamCount}
+     */
+    public void seedMembers(int teamCount, int memberCount) {
+        load(SyntheticDataSpec.of(teamCount, memberCount));
+    }
+
+    /** 치우친 분포 등 합성 데이터를 JDBC 배치로 적재한다. (같은 spec 이면 항상 같은 데이터) */
+    public SyntheticDataLoader.LoadedData load(SyntheticDataSpec spec) {
+        return getBean(SyntheticDataLoader.class).load(spec);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.querydsl.dto.IngestBatch;
+import study.querydsl.dto.IngestionReport;
+import study.querydsl.dto.MemberIngestRequest;
+import study.querydsl.service.BulkIngestionService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BulkIngestionService 적재 속도 (회원 100,000 명 / 팀 100 개 한 묶음)
+ * rows/sec 는 로그의 IngestionReport 로도 확인할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BulkIngestionBenchmark {
+
+    @Param({"100000"})
+    int members;
+
+    BenchmarkContext context;
+    BulkIngestionService bulkIngestionService;
+    IngestBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("ingestion");
+        bulkIngestionService = context.getBean(BulkIngestionService.class);
+        List<MemberIngestRequest> requests = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            requests.add(new MemberIngestRequest("member" + i, i % 100, "team" + (i % 100)));
+        }
+        batch = new IngestBatch(new ArrayList<>(), requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public IngestionReport ingest() {
+        return bulkIngestionService.ingest(batch);
+    }
+}
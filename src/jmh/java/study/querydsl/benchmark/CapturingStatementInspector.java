@@ -0,0 +1,32 @@
+package study.querydsl.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate 가 실행하는 SQL 을 모아 둔다. (hibernate.session_factory.statement_inspector)
+ * 실행 계획(EXPLAIN) 확인용
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /** 모아 둔 SQL 을 꺼내고 비운다 */
+    public static List<String> drain() {
+        synchronized (statements) {
+            List<String> drained = new ArrayList<>(statements);
+            statements.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import study.querydsl.columnar.ColumnarQuery;
+import study.querydsl.columnar.DictionaryColumn;
+import study.querydsl.columnar.GroupedIntStats;
+import study.querydsl.columnar.IntColumn;
+import study.querydsl.datagen.SyntheticDataSpec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 팀별 나이 집계를 JVM 에서 할 때 Tuple 조회와 컬럼 단위 조회 비교 (QuerydslBasicTest.group 참고)
+ * - 실행: ./gradlew jmh -Pjmh.includes=ColumnarBenchmark
+ * - 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인한다.
+ * - aggregateOnly 는 이미 채운 컬럼의 집계만 측정한다. (DB 조회 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnarBenchmark {
+
+    @Param({"1000000"})
+    int rows;
+
+    BenchmarkContext context;
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+    IntColumn age;
+    DictionaryColumn teamName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("columnar" + rows);
+        context.load(SyntheticDataSpec.of(100, rows).withSeed(1).withTeamSkew(1.0) // 팀 크기가 고르지 않은 분석 데이터
+                .withAges(SyntheticDataSpec.AgeDistribution.NORMAL, 20, 60));
+        em = context.createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+        age = new IntColumn(member.age);
+        teamName = new DictionaryColumn(team.name);
+        ColumnarQuery.fetch(queryFactory.from(member).join(member.team, team), em, teamName, age);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    /** List<Tuple> 조회 후 팀별 합계/건수 */
+    @Benchmark
+    public Map<String, long[]> tuple() {
+        List<Tuple> result = queryFactory
+                .select(team.name, member.age)
+                .from(member)
+                .join(member.team, team)
+                .fetch();
+        Map<String, long[]> sums = new HashMap<>();
+        for (Tuple row : result) {
+            long[] sum = sums.computeIfAbsent(row.get(team.name), key -> new long[2]);
+            sum[0] += row.get(member.age);
+            sum[1]++;
+        }
+        return sums;
+    }
+
+    /** 같은 컬럼 버퍼를 재사용해서 조회 후 팀별 집계 */
+    @Benchmark
+    public GroupedIntStats columnar() {
+        ColumnarQuery.fetch(queryFactory.from(member).join(member.team, team), em, teamName, age);
+        return age.groupBy(teamName);
+    }
+
+    @Benchmark
+    public GroupedIntStats aggregateOnly() {
+        return age.groupBy(teamName);
+    }
+
+    @Benchmark
+    public long sumOnly() {
+        return age.sum();
+    }
+}
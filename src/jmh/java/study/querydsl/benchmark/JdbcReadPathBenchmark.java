@@ -0,0 +1,91 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.projection.FastProjections;
+import study.querydsl.repository.MemberJdbcRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 조회 지연시간: JPA(JPQL -> Hibernate -> 생성자 프로젝션) vs Querydsl SQL(ResultSet -> DTO)
+ * - 두 경로 모두 읽기 전용 트랜잭션 하나에서 실행한다.
+ * - 실행: ./gradlew jmh -Pjmh.includes=JdbcReadPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JdbcReadPathBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000"})
+    int rows;
+
+    BenchmarkContext context;
+    TransactionTemplate readOnly;
+    JPAQueryFactory queryFactory;
+    MemberJdbcRepository jdbcRepository;
+    MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jdbc" + rows);
+        context.seedMembers(10, rows);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        jdbcRepository = context.getBean(MemberJdbcRepository.class);
+        condition = new MemberSearchCondition();
+        condition.setTeamName("team7");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** 전체 회원 MemberDto (행 수만큼 변환) */
+    @Benchmark
+    public List<MemberDto> jpaAll() {
+        return readOnly.execute(status -> queryFactory
+                .select(FastProjections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> jdbcAll() {
+        return jdbcRepository.findMemberDtos(null);
+    }
+
+    /** 검색 한 페이지 (쿼리 준비 비용 비중이 큰 경우) */
+    @Benchmark
+    public List<MemberTeamDto> jpaSearchPage() {
+        return readOnly.execute(status -> queryFactory
+                .select(FastProjections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(team.name.eq(condition.getTeamName()))
+                .orderBy(member.id.asc())
+                .limit(PAGE_SIZE)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> jdbcSearchPage() {
+        return jdbcRepository.search(condition, PageRequest.of(0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,132 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberQueryRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberQueryRepository.search 조건 조합별 검색 시간 (회원 rows 명, 팀 1,000 개)
+ * 기동할 때 실행되는 SQL(content/count)을 H2 EXPLAIN 으로 확인해서, 조건별로 기대한 인덱스를 타지 않으면 실패한다.
+ * 실행: ./gradlew jmh -Pjmh.includes=MemberSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchBenchmark {
+
+    private static final int TEAMS = 1_000;
+    private static final int PAGE_SIZE = 20;
+    /** 조건 조합별로 content/count 실행 계획에 있어야 하는 인덱스 (PRIMARY KEY 만으로 읽으면 실패) */
+    private static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "username", List.of("IDX_MEMBER_USERNAME"),
+            "team", List.of("IDX_TEAM_NAME", "IDX_MEMBER_TEAM_AGE"),
+            "age", List.of("IDX_MEMBER_AGE"),
+            "teamAge", List.of("IDX_TEAM_NAME", "IDX_MEMBER_TEAM_AGE"),
+            "usernameTeam", List.of("IDX_MEMBER_USERNAME"));
+
+    @Param({"2000000"})
+    int rows;
+
+    @Param({"username", "team", "age", "teamAge", "usernameTeam"})
+    String criteria;
+
+    BenchmarkContext context;
+    MemberQueryRepository repository;
+    MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = BenchmarkContext.start("search",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + CapturingStatementInspector.class.getName());
+        context.seedMembers(TEAMS, rows);
+        repository = context.getBean(MemberQueryRepository.class);
+        condition = condition(criteria);
+
+        CapturingStatementInspector.drain();
+        repository.search(condition, PageRequest.of(0, PAGE_SIZE));
+        verifyIndexAccess(CapturingStatementInspector.drain());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> search() {
+        return repository.search(condition, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    /** seedMembers: username=member{i}, age=i%100, team=team{i%1000} */
+    private static MemberSearchCondition condition(String criteria) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        switch (criteria) {
+            case "username" -> condition.setUsername("member123456");
+            case "team" -> condition.setTeamName("team7");
+            case "age" -> {
+                condition.setAgeGoe(30);
+                condition.setAgeLoe(31);
+            }
+            case "teamAge" -> {
+                condition.setTeamName("team7");
+                condition.setAgeGoe(30);
+                condition.setAgeLoe(39);
+            }
+            case "usernameTeam" -> {
+                condition.setUsername("member123456");
+                condition.setTeamName("team456");
+            }
+            default -> throw new IllegalArgumentException(criteria);
+        }
+        return condition;
+    }
+
+    /** 조건 값은 where 절 순서(username, teamName, ageGoe, ageLoe)로, 나머지(limit/offset)는 PAGE_SIZE 로 바인딩 */
+    private void verifyIndexAccess(List<String> statements) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        for (Object value : new Object[]{condition.getUsername(), condition.getTeamName(),
+                condition.getAgeGoe(), condition.getAgeLoe()}) {
+            if (value != null) {
+                values.add(value);
+            }
+        }
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            for (String sql : statements) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                    int parameters = explain.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parameters; i++) {
+                        explain.setObject(i, i <= values.size() ? values.get(i - 1) : PAGE_SIZE);
+                    }
+                    try (ResultSet rs = explain.executeQuery()) {
+                        rs.next();
+                        String plan = rs.getString(1);
+                        System.out.println("[" + criteria + "] " + plan);
+                        if (plan.contains(".tableScan")) {
+                            throw new IllegalStateException("table scan for criteria " + criteria + ": " + plan);
+                        }
+                        for (String index : EXPECTED_INDEXES.get(criteria)) {
+                            if (!plan.contains("PUBLIC." + index + ":")) {
+                                throw new IllegalStateException(index + " not used for criteria " + criteria + ": " + plan);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * JPAQueryFactory 쿼리 생성 비용과 JPQL 직렬화 비용 측정
+ * - build*     : 메타데이터(QueryMetadata) 구성까지
+ * - serialize* : JPQL 문자열 직렬화까지 (Hibernate 파싱/실행 제외)
+ * - execute    : 실제 실행까지 포함한 기준값
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryConstructionBenchmark {
+
+    BenchmarkContext context;
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("construction");
+        context.seedMembers(2, 4);
+        em = context.createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public JPAQuery<Member> buildSimple() {
+        return queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member1"), member.age.eq(10));
+    }
+
+    @Benchmark
+    public JPAQuery<Member> buildJoinSubQuery() {
+        QMember memberSub = new QMember("memberSub");
+        return queryFactory
+                .selectFrom(member)
+                .join(member.team, team)
+                .where(team.name.eq("teamA"),
+                        member.age.goe(JPAExpressions
+                                .select(memberSub.age.avg())
+                                .from(memberSub)))
+                .orderBy(member.username.desc());
+    }
+
+    @Benchmark
+    public String serializeSimple() {
+        return serialize(buildSimple());
+    }
+
+    @Benchmark
+    public String serializeJoinSubQuery() {
+        return serialize(buildJoinSubQuery());
+    }
+
+    @Benchmark
+    public Member execute() {
+        return buildSimple().fetchOne();
+    }
+
+    private String serialize(JPAQuery<?> query) {
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(query.getMetadata(), false, null);
+        return serializer.toString();
+    }
+}
@@ -1,7 +1,10 @@
 package study.querydsl;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class QueryDslApplication {
@@ -10,4 +13,9 @@ public class QueryDslApplication {
 		SpringApplication.run(QueryDslApplication.class, args);
 	}
 
+	@Bean
+	JPAQueryFactory jpaQueryFactory(EntityManager em) {
+		return new JPAQueryFactory(em); // 트랜잭션 범위의 프록시 EntityManager 이므로 싱글톤으로 공유해도 된다.
+	}
+
 }
@@ -0,0 +1,27 @@
+package study.querydsl.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class CacheRegionStats {
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCountInMemory; // 제공하지 않는 캐시 구현은 -1
+
+    public CacheRegionStats(String region, long hitCount, long missCount, long putCount, long elementCountInMemory) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCountInMemory = elementCountInMemory;
+    }
+
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,43 @@
+package study.querydsl.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.TeamQueryRepository;
+
+import java.util.List;
+
+/**
+ * Team 2차 캐시 / 팀 이름 쿼리 캐시의 적중(hit)/미스(miss) 통계
+ * (hibernate.generate_statistics: true, 즉 cache-stats 프로필일 때만 집계되고 아니면 모두 0)
+ */
+@Component
+public class TeamCacheStatistics {
+
+    private final Statistics statistics;
+
+    public TeamCacheStatistics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStats> getStats() {
+        return List.of(
+                toStats(Team.class.getName(), statistics.getDomainDataRegionStatistics(Team.class.getName())),
+                toStats(TeamQueryRepository.TEAM_BY_NAME_REGION,
+                        statistics.getQueryRegionStatistics(TeamQueryRepository.TEAM_BY_NAME_REGION)));
+    }
+
+    private CacheRegionStats toStats(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) { // 아직 한번도 사용되지 않은 쿼리 캐시 영역
+            return new CacheRegionStats(region, 0, 0, 0, 0);
+        }
+        return new CacheRegionStats(region,
+                regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(),
+                regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory());
+    }
+}
@@ -0,0 +1,71 @@
+package study.querydsl.columnar;
+
+import com.querydsl.core.types.Expression;
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/**
+ * 컬럼 단위 결과 버퍼 (행 번호 0 ~ size-1)
+ * - {@link ColumnarQuery#fetch} 가 조회할 때마다 비우고 다시 채운다. 같은 컬럼 객체를 재사용하면 배열도 재사용된다.
+ * - null 은 별도 비트셋으로 표시하고, null 이 한 건도 없으면 비트셋을 만들지 않는다.
+ */
+public abstract class Column {
+
+    static final int INITIAL_CAPACITY = 1_024;
+
+    @Getter
+    private final Expression<?> expression;
+    private BitSet nulls;
+    int size;
+
+    Column(Expression<?> expression) {
+        this.expression = expression;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    public boolean hasNulls() {
+        return nulls != null && !nulls.isEmpty();
+    }
+
+    /** null 이 아닌 값의 개수 */
+    public int countNotNull() {
+        return nulls == null ? size : size - nulls.cardinality();
+    }
+
+    void clear() {
+        size = 0;
+        if (nulls != null) {
+            nulls.clear();
+        }
+    }
+
+    void append(Object value) {
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(size);
+        }
+        appendValue(size, value);
+        size++;
+    }
+
+    /** row 자리에 값 저장, value 가 null 이면 기본값을 저장한다 */
+    abstract void appendValue(int row, Object value);
+
+    BitSet nulls() {
+        return nulls;
+    }
+
+    static int grow(int capacity, int required) {
+        return Math.max(required, capacity + (capacity >> 1));
+    }
+}
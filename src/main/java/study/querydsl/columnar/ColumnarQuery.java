@@ -0,0 +1,91 @@
+package study.querydsl.columnar;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAProvider;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 분석용 컬럼 단위 조회
+ * Tuple/DTO 대신 컬럼 버퍼에 바로 채워서, 행마다 Tuple 을 만들거나 Integer 를 보관하지 않는다.
+ * <pre>
+ * IntColumn age = new IntColumn(member.age);
+ * DictionaryColumn teamName = new DictionaryColumn(team.name);
+ * ColumnarQuery.fetch(queryFactory.from(member).join(member.team, team), em, age, teamName);
+ * age.groupBy(teamName).get("teamA").average();
+ * </pre>
+ * - from/join/where/orderBy/limit 은 넘겨준 쿼리 것을 쓰고, select 는 컬럼 식으로 바꾼다.
+ * - 결과는 커서(fetch size 단위)로 읽고, 읽기 전용 힌트를 준다. 컬럼은 스칼라 값만 담으므로 영속성 컨텍스트에 쌓이지 않는다.
+ * 주의: 드라이버/Hibernate 가 행마다 만드는 Object[] 와 값 객체는 남는다. (작은 Integer 는 캐시된 객체)
+ */
+public final class ColumnarQuery {
+
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private ColumnarQuery() {
+    }
+
+    /** @return 읽은 행 수 */
+    public static int fetch(JPAQuery<?> query, EntityManager em, Column... columns) {
+        return fetch(query, em, DEFAULT_FETCH_SIZE, columns);
+    }
+
+    public static int fetch(JPAQuery<?> query, EntityManager em, int fetchSize, Column... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("컬럼을 하나 이상 지정해야 합니다");
+        }
+        Expression<?>[] expressions = new Expression<?>[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            expressions[i] = columns[i].getExpression();
+            columns[i].clear();
+        }
+
+        QueryMetadata metadata = query.getMetadata().clone();
+        metadata.setProjection(Projections.tuple(expressions)); // 직렬화하면 select 절이 컬럼 식 목록이 된다
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(metadata, false, null);
+
+        Query jpaQuery = em.createQuery(serializer.toString());
+        JPAUtil.setConstants(jpaQuery, serializer.getConstants(), metadata.getParams());
+        QueryModifiers modifiers = metadata.getModifiers();
+        if (modifiers.getLimitAsInteger() != null) {
+            jpaQuery.setMaxResults(modifiers.getLimitAsInteger());
+        }
+        if (modifiers.getOffsetAsInteger() != null) {
+            jpaQuery.setFirstResult(modifiers.getOffsetAsInteger());
+        }
+        jpaQuery.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        int rows = 0;
+        try (Stream<?> stream = jpaQuery.getResultStream()) {
+            Iterator<?> iterator = stream.iterator();
+            if (columns.length == 1) { // 컬럼이 하나면 행이 값 자체
+                Column column = columns[0];
+                while (iterator.hasNext()) {
+                    column.append(iterator.next());
+                    rows++;
+                }
+            } else {
+                while (iterator.hasNext()) {
+                    Object[] row = (Object[]) iterator.next();
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i].append(row[i]);
+                    }
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+}
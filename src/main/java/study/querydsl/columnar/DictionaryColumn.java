@@ -0,0 +1,97 @@
+package study.querydsl.columnar;
+
+import com.querydsl.core.types.Expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사전 인코딩 문자열 컬럼 (team.name 처럼 값의 종류가 적은 컬럼)
+ * - 행마다 int 코드만 저장하고, 문자열은 서로 다른 값마다 한 번만 보관한다. (코드는 처음 나온 순서대로 0, 1, 2...)
+ * - null 의 코드는 {@link #NULL_CODE}.
+ * 그룹 집계는 코드를 배열 인덱스로 사용한다. ({@link IntColumn#groupBy})
+ */
+public final class DictionaryColumn extends Column {
+
+    public static final int NULL_CODE = -1;
+
+    private int[] codes = new int[INITIAL_CAPACITY];
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+
+    public DictionaryColumn(Expression<String> expression) {
+        super(expression);
+    }
+
+    public int code(int row) {
+        return codes[row];
+    }
+
+    public String get(int row) {
+        int code = codes[row];
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    /** 서로 다른 값의 개수 (null 제외) */
+    public int cardinality() {
+        return dictionary.size();
+    }
+
+    public String value(int code) {
+        return dictionary.get(code);
+    }
+
+    /** 값의 코드, 없는 값이면 NULL_CODE */
+    public int codeOf(String value) {
+        Integer code = index.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    public int[] toCodeArray() {
+        return Arrays.copyOf(codes, size);
+    }
+
+    /** 코드별 행 수 (null 제외) */
+    public int[] countByCode() {
+        int[] counts = new int[dictionary.size()];
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            if (code != NULL_CODE) {
+                counts[code]++;
+            }
+        }
+        return counts;
+    }
+
+    int[] codes() {
+        return codes;
+    }
+
+    @Override
+    void clear() {
+        super.clear();
+        dictionary.clear(); // 코드는 조회마다 새로 매긴다
+        index.clear();
+    }
+
+    @Override
+    void appendValue(int row, Object value) {
+        if (row == codes.length) {
+            codes = Arrays.copyOf(codes, grow(codes.length, row + 1));
+        }
+        if (value == null) {
+            codes[row] = NULL_CODE;
+            return;
+        }
+        Integer code = index.get(value);
+        if (code == null) { // 새 값일 때만 할당
+            code = dictionary.size();
+            dictionary.add((String) value);
+            index.put((String) value, code);
+        }
+        codes[row] = code;
+    }
+}
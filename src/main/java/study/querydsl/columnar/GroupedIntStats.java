@@ -0,0 +1,65 @@
+package study.querydsl.columnar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 그룹별 int 집계 결과 ({@link IntColumn#groupBy})
+ * 그룹 번호는 사전 코드와 같고, key 가 null 인 그룹은 마지막 번호다. (null key 행이 없으면 그룹도 없다)
+ */
+public final class GroupedIntStats {
+
+    private final String[] keys;
+    private final int[] rows;
+    private final long[] counts;
+    private final long[] sums;
+    private final int[] mins;
+    private final int[] maxs;
+
+    GroupedIntStats(String[] keys, int[] rows, long[] counts, long[] sums, int[] mins, int[] maxs) {
+        this.keys = keys;
+        this.rows = rows;
+        this.counts = counts;
+        this.sums = sums;
+        this.mins = mins;
+        this.maxs = maxs;
+    }
+
+    /** 그룹 수 (null 그룹 포함) */
+    public int groups() {
+        return hasNullGroup() ? keys.length : keys.length - 1;
+    }
+
+    public String key(int group) {
+        return keys[group];
+    }
+
+    public IntStats stats(int group) {
+        return new IntStats(counts[group], sums[group], mins[group], maxs[group]);
+    }
+
+    /** key 그룹의 집계, 없는 key 면 null */
+    public IntStats get(String key) {
+        int groups = groups();
+        for (int group = 0; group < groups; group++) {
+            if (key == null ? keys[group] == null : key.equals(keys[group])) {
+                return stats(group);
+            }
+        }
+        return null;
+    }
+
+    /** key -> 집계 (처음 나온 key 순서, null 그룹은 마지막) */
+    public Map<String, IntStats> toMap() {
+        Map<String, IntStats> result = new LinkedHashMap<>();
+        int groups = groups();
+        for (int group = 0; group < groups; group++) {
+            result.put(keys[group], stats(group));
+        }
+        return result;
+    }
+
+    private boolean hasNullGroup() {
+        return rows[keys.length - 1] > 0;
+    }
+}
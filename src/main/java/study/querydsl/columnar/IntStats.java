@@ -0,0 +1,13 @@
+package study.querydsl.columnar;
+
+/**
+ * int 컬럼 집계 결과
+ * count 가 0 이면 min/max 는 의미가 없다. (Integer.MAX_VALUE / Integer.MIN_VALUE)
+ */
+public record IntStats(long count, long sum, int min, int max) {
+
+    /** 평균, count 가 0 이면 NaN */
+    public double average() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+}
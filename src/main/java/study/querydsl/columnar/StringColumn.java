@@ -0,0 +1,40 @@
+package study.querydsl.columnar;
+
+import com.querydsl.core.types.Expression;
+
+import java.util.Arrays;
+
+/**
+ * 문자열 컬럼 (String[]), 값이 대부분 서로 다른 컬럼용 (member.username 등)
+ * 값의 종류가 적으면 {@link DictionaryColumn} 을 사용한다.
+ */
+public final class StringColumn extends Column {
+
+    private String[] values = new String[INITIAL_CAPACITY];
+
+    public StringColumn(Expression<String> expression) {
+        super(expression);
+    }
+
+    public String get(int row) {
+        return values[row];
+    }
+
+    public String[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(values, 0, size, null); // 이전 조회의 문자열을 붙잡고 있지 않도록
+        super.clear();
+    }
+
+    @Override
+    void appendValue(int row, Object value) {
+        if (row == values.length) {
+            values = Arrays.copyOf(values, grow(values.length, row + 1));
+        }
+        values[row] = (String) value;
+    }
+}
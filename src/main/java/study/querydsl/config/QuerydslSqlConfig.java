@@ -0,0 +1,36 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLTemplatesRegistry;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Querydsl SQL (엔티티/영속성 컨텍스트를 거치지 않는 조회용)
+ * - 커넥션은 현재 스프링 트랜잭션(JpaTransactionManager)의 것을 사용한다. 트랜잭션 밖에서 조회하면 IllegalStateException.
+ * - SQL 방언은 DB 메타데이터로 고른다.
+ */
+@Configuration
+public class QuerydslSqlConfig {
+
+    @Bean
+    SQLTemplates sqlTemplates(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return new SQLTemplatesRegistry().getTemplates(connection.getMetaData());
+        }
+    }
+
+    @Bean
+    SQLQueryFactory sqlQueryFactory(DataSource dataSource, SQLTemplates sqlTemplates) {
+        com.querydsl.sql.Configuration configuration = new com.querydsl.sql.Configuration(sqlTemplates);
+        configuration.setExceptionTranslator(new SpringExceptionTranslator()); // SQLException -> DataAccessException
+        return new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 DataSource 라우팅 (app.datasource.read-only.url 이 있을 때만)
+ * - @Transactional(readOnly = true) 트랜잭션은 읽기 전용 DataSource(복제본 등)를 사용하고, 나머지는 기본 DataSource 를 사용한다.
+ * - 트랜잭션의 readOnly 여부는 트랜잭션 시작 이후에 결정되므로, 실제 커넥션 획득을 첫 SQL 실행까지 미룬다. (LazyConnectionDataSourceProxy)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-only", name = "url")
+public class ReadOnlyRoutingDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource writeDataSource() {
+        return dataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read-only")
+    DataSourceProperties readOnlyDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read-only.hikari")
+    HikariDataSource readOnlyDataSource() {
+        HikariDataSource dataSource = readOnlyDataSourceProperties()
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readOnlyDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? "read-only" : "write";
+            }
+        };
+        routing.setTargetDataSources(Map.of("write", writeDataSource, "read-only", readOnlyDataSource));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import study.querydsl.support.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 요청 처리 모드 (app.threads.virtual: true, JDK 21 이상에서 실행)
+ * - Tomcat 요청 처리 스레드를 요청마다 가상 스레드로 만든다. (컨트롤러 -> @Transactional 서비스까지 같은 가상 스레드)
+ * - 비동기 MVC(StreamingResponseBody 등)와 @Async 에 사용하는 applicationTaskExecutor 도 가상 스레드로 바꾼다.
+ * 동시 요청 수가 스레드 수로 제한되지 않으므로, DB 동시 접근은 커넥션 풀(spring.datasource.hikari.maximum-pool-size)이 제한한다.
+ * 종료할 때 (Tomcat 이 멈춘 뒤) 남은 비동기 작업을 기다렸다가 executor 를 닫는다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig implements DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor()
+            .orElseThrow(() -> new IllegalStateException(
+                    "app.threads.virtual=true 는 JDK 21 이상에서만 사용할 수 있습니다. (현재: "
+                            + Runtime.version() + ")"));
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("request handling on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(executor);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("virtual thread tasks still running after {}s, interrupting", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+}
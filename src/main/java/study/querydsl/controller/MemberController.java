@@ -0,0 +1,57 @@
+package study.querydsl.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.IngestBatch;
+import study.querydsl.dto.IngestionReport;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.service.BulkIngestionService;
+
+@RestController
+public class MemberController {
+
+    private final BulkIngestionService bulkIngestionService;
+    private final MemberQueryRepository memberQueryRepository;
+
+    public MemberController(BulkIngestionService bulkIngestionService, MemberQueryRepository memberQueryRepository) {
+        this.bulkIngestionService = bulkIngestionService;
+        this.memberQueryRepository = memberQueryRepository;
+    }
+
+    /** 예) GET /members?page=0&size=20&sort=age,desc (정렬: id, username, age) */
+    @GetMapping(value = "/members")
+    public Page<MemberDto> members(Pageable pageable) {
+        Page<Member> page;
+        try {
+            page = memberQueryRepository.findAll(null, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return page.map(m -> new MemberDto(m.getUsername(), m.getAge()));
+    }
+
+    /** 예) GET /members/search?teamName=teamA&ageGoe=20&ageLoe=40&page=0&size=20&sort=teamName,desc */
+    @GetMapping(value = "/members/search")
+    public Page<MemberTeamDto> search(MemberSearchCondition condition, Pageable pageable) {
+        try {
+            return memberQueryRepository.search(condition, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/members/bulk")
+    public IngestionReport bulkInsert(@RequestBody IngestBatch batch) {
+        return bulkIngestionService.ingest(batch);
+    }
+}
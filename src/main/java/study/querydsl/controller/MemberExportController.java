@@ -0,0 +1,47 @@
+package study.querydsl.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.service.MemberExportService;
+
+/**
+ * 회원 내보내기 (NDJSON / CSV)
+ * 예) GET /members/export?format=csv
+ */
+@RestController
+public class MemberExportController {
+
+    private final MemberExportService memberExportService;
+
+    public MemberExportController(MemberExportService memberExportService) {
+        this.memberExportService = memberExportService;
+    }
+
+    @GetMapping(value = "/members/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        MemberExportService.Format exportFormat;
+        try {
+            exportFormat = MemberExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식: " + format);
+        }
+        MediaType contentType = exportFormat == MemberExportService.Format.CSV
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        // 응답 스트림에 바로 쓰기 때문에 결과 전체를 메모리에 올리지 않는다.
+        StreamingResponseBody body = out -> memberExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"members." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.cache.CacheRegionStats;
+import study.querydsl.cache.TeamCacheStatistics;
+import study.querydsl.stats.AgeStatistics;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import java.util.List;
+
+@RestController
+public class TeamController {
+
+    private final TeamCacheStatistics teamCacheStatistics;
+    private final TeamAgeStatisticsRegistry teamAgeStatisticsRegistry;
+
+    public TeamController(TeamCacheStatistics teamCacheStatistics, TeamAgeStatisticsRegistry teamAgeStatisticsRegistry) {
+        this.teamCacheStatistics = teamCacheStatistics;
+        this.teamAgeStatisticsRegistry = teamAgeStatisticsRegistry;
+    }
+
+    @GetMapping(value = "/teams/{teamId}/age-stats")
+    public AgeStatistics ageStats(@PathVariable Long teamId) {
+        return teamAgeStatisticsRegistry.getTeam(teamId);
+    }
+
+    @GetMapping(value = "/teams/cache/stats")
+    public List<CacheRegionStats> cacheStats() {
+        return teamCacheStatistics.getStats();
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.datagen;
+
+import java.util.Arrays;
+
+/**
+ * 합성 회원/팀 값 계산 (DB 와 무관)
+ * 회원 i 의 값은 (seed, i) 만으로 정해진다. 난수 상태를 공유하지 않으므로 순서/분할과 관계없이 같은 결과이고 행마다 할당이 없다.
+ * 팀 번호는 0 ~ teams-1, 팀이 없으면 {@link #NO_TEAM}.
+ */
+public final class SyntheticDataGenerator {
+
+    public static final int NO_TEAM = -1;
+
+    private static final int TEAM_STREAM = 1;
+    private static final int NO_TEAM_STREAM = 2;
+    private static final int AGE_STREAM = 3;
+    private static final int AGE_STREAM_2 = 4;
+    private static final int USERNAME_STREAM = 5;
+
+    private final SyntheticDataSpec spec;
+    private final double[] teamCdf; // Zipf 누적 분포, 고르게 나눌 때는 null
+
+    public SyntheticDataGenerator(SyntheticDataSpec spec) {
+        this.spec = spec;
+        this.teamCdf = spec.teamSkew() > 0 && spec.teams() > 0 ? zipfCdf(spec.teams(), spec.teamSkew()) : null;
+    }
+
+    public String teamName(int team) {
+        return "team" + team;
+    }
+
+    public String username(int member) {
+        if (spec.nullUsernameRatio() > 0 && uniform(member, USERNAME_STREAM) < spec.nullUsernameRatio()) {
+            return null;
+        }
+        return "member" + member;
+    }
+
+    public int age(int member) {
+        int min = spec.minAge();
+        int range = spec.maxAge() - min + 1;
+        return switch (spec.ages()) {
+            case SEQUENTIAL -> min + member % range;
+            case UNIFORM -> min + (int) (uniform(member, AGE_STREAM) * range);
+            case NORMAL -> {
+                double u1 = Math.max(uniform(member, AGE_STREAM), Double.MIN_NORMAL); // Box-Muller
+                double u2 = uniform(member, AGE_STREAM_2);
+                double gaussian = Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+                long age = Math.round(min + (range - 1) / 2.0 + gaussian * range / 6.0);
+                yield (int) Math.max(min, Math.min(spec.maxAge(), age));
+            }
+        };
+    }
+
+    public int team(int member) {
+        if (spec.teams() == 0
+                || spec.noTeamRatio() > 0 && uniform(member, NO_TEAM_STREAM) < spec.noTeamRatio()) {
+            return NO_TEAM;
+        }
+        if (teamCdf == null) {
+            return member % spec.teams();
+        }
+        int index = Arrays.binarySearch(teamCdf, uniform(member, TEAM_STREAM));
+        return Math.min(index >= 0 ? index : -index - 1, spec.teams() - 1);
+    }
+
+    private static double[] zipfCdf(int teams, double skew) {
+        double[] cdf = new double[teams];
+        double total = 0;
+        for (int rank = 0; rank < teams; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < teams; rank++) {
+            cdf[rank] /= total;
+        }
+        return cdf;
+    }
+
+    /** [0, 1) 균등 분포 (SplitMix64) */
+    private double uniform(long member, int stream) {
+        long z = spec.seed() + member * 0x9E3779B97F4A7C15L + stream * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,161 @@
+package study.querydsl.datagen;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DecoratedDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.snapshot.MemberSnapshot;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+
+/**
+ * 합성 데이터 대량 적재 (벤치마크/부하 테스트용)
+ * - JPA 를 거치지 않고 JDBC 배치 INSERT 로 넣는다. p6spy 데코레이터를 벗겨낸 DataSource 의 커넥션을 직접 사용하고
+ *   COMMIT_ROWS 건마다 커밋한다. (호출한 트랜잭션과 무관하다)
+ * - id 는 기존 최대값과 Hibernate 가 이미 받아둔 시퀀스 블록 다음부터 직접 매기고, 적재 후 시퀀스를 그 뒤로 옮긴다.
+ * - 엔티티 이벤트가 없으므로 2차 캐시를 비우고 팀 나이 집계/회원 스냅샷을 다시 적재한다.
+ */
+@Slf4j
+@Component
+public class SyntheticDataLoader {
+
+    private static final int BATCH_ROWS = 1_000;
+    private static final int COMMIT_ROWS = 100_000;
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory emf;
+    private final TeamAgeStatisticsRegistry teamAgeStatistics;
+    private final MemberSnapshot memberSnapshot;
+
+    public SyntheticDataLoader(DataSource dataSource, EntityManagerFactory emf,
+                               TeamAgeStatisticsRegistry teamAgeStatistics, MemberSnapshot memberSnapshot) {
+        this.dataSource = dataSource instanceof DecoratedDataSource decorated ? decorated.getRealDataSource() : dataSource;
+        this.emf = emf;
+        this.teamAgeStatistics = teamAgeStatistics;
+        this.memberSnapshot = memberSnapshot;
+    }
+
+    /** 적재한 팀 번호 t 의 id 는 firstTeamId + t, 회원 i 의 id 는 firstMemberId + i */
+    public record LoadedData(long firstTeamId, int teams, long firstMemberId, int members, Duration elapsed) {
+    }
+
+    public LoadedData load(SyntheticDataSpec spec) {
+        long start = System.nanoTime();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec);
+        LoadedData loaded;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // id 범위를 먼저 예약(시퀀스를 범위 뒤로 옮기고 커밋)해서, 적재하는 동안 JPA 가 저장하는 엔티티와 id 가 겹치지 않게 한다
+                long firstTeamId = firstId(connection, "team", "team_id", Team.class);
+                restartSequence(connection, Team.class, firstTeamId + spec.teams());
+                long firstMemberId = firstId(connection, "member", "member_id", Member.class);
+                restartSequence(connection, Member.class, firstMemberId + spec.members());
+                connection.commit();
+
+                insertTeams(connection, generator, spec.teams(), firstTeamId);
+                insertMembers(connection, generator, spec.members(), firstMemberId, firstTeamId);
+                connection.commit();
+                loaded = new LoadedData(firstTeamId, spec.teams(), firstMemberId, spec.members(),
+                        Duration.ofNanos(System.nanoTime() - start));
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback(); // 이미 커밋된 앞부분과 예약한 id 범위는 남는다
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("합성 데이터 적재 실패: " + spec, e);
+        }
+
+        emf.getCache().evictAll();
+        teamAgeStatistics.rebuild();
+        memberSnapshot.requestRefresh();
+        log.info("synthetic data loaded: {} teams, {} members in {}ms", loaded.teams(), loaded.members(),
+                loaded.elapsed().toMillis());
+        return loaded;
+    }
+
+    private void insertTeams(Connection connection, SyntheticDataGenerator generator, int teams, long firstId)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("insert into team (team_id, name) values (?, ?)")) {
+            for (int t = 0; t < teams; t++) {
+                insert.setLong(1, firstId + t);
+                insert.setString(2, generator.teamName(t));
+                insert.addBatch();
+                if ((t + 1) % BATCH_ROWS == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void insertMembers(Connection connection, SyntheticDataGenerator generator, int members, long firstId,
+                               long firstTeamId) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < members; i++) {
+                insert.setLong(1, firstId + i);
+                insert.setString(2, generator.username(i));
+                insert.setInt(3, generator.age(i));
+                int team = generator.team(i);
+                if (team == SyntheticDataGenerator.NO_TEAM) {
+                    insert.setNull(4, Types.BIGINT);
+                } else {
+                    insert.setLong(4, firstTeamId + team);
+                }
+                insert.addBatch();
+                if ((i + 1) % BATCH_ROWS == 0) {
+                    insert.executeBatch();
+                }
+                if ((i + 1) % COMMIT_ROWS == 0) {
+                    connection.commit(); // 트랜잭션 로그가 한없이 커지지 않도록
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /** Hibernate 가 이미 받아둔 블록(시퀀스 값 + allocationSize 이내)과 겹치지 않는 첫 id */
+    private long firstId(Connection connection, String table, String idColumn, Class<?> entity) throws SQLException {
+        long maxId = queryLong(connection, "select coalesce(max(" + idColumn + "), 0) from " + table);
+        long sequenceValue = queryLong(connection, "select next value for " + sequence(entity).sequenceName());
+        return Math.max(maxId, sequenceValue + sequence(entity).allocationSize()) + 1;
+    }
+
+    private void restartSequence(Connection connection, Class<?> entity, long nextFreeId) throws SQLException {
+        SequenceGenerator sequence = sequence(entity);
+        try (Statement statement = connection.createStatement()) { // pooled/pooled-lo 어느 쪽으로 해석해도 nextFreeId 이후
+            statement.execute("alter sequence " + sequence.sequenceName()
+                    + " restart with " + (nextFreeId + sequence.allocationSize()));
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static SequenceGenerator sequence(Class<?> entity) {
+        try {
+            return entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
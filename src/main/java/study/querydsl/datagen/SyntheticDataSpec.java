@@ -0,0 +1,62 @@
+package study.querydsl.datagen;
+
+/**
+ * 합성 데이터 모양
+ * 기본값은 BenchmarkContext 의 기존 적재 방식과 같다. (username=member{i}, age=i%100, team=team{i%teams})
+ *
+ * @param seed              같은 seed + 같은 설정이면 항상 같은 데이터
+ * @param teamSkew          팀 크기 치우침 (Zipf 지수), 0 이면 i % teams 로 고르게 나눈다. 1 이면 team0 이 team1 의 2배, team2 의 3배...
+ * @param noTeamRatio       팀이 없는 회원 비율
+ * @param nullUsernameRatio username 이 null 인 회원 비율 (정렬/nulls 처리 확인용)
+ */
+public record SyntheticDataSpec(int teams, int members, long seed, double teamSkew, AgeDistribution ages,
+                                int minAge, int maxAge, double noTeamRatio, double nullUsernameRatio) {
+
+    public enum AgeDistribution {
+        /** minAge + i % (maxAge - minAge + 1) */
+        SEQUENTIAL,
+        UNIFORM,
+        /** 가운데 (minAge + maxAge) / 2, 표준편차는 범위의 1/6, 범위 밖은 잘라낸다 */
+        NORMAL
+    }
+
+    public SyntheticDataSpec {
+        if (teams < 0 || members < 0) {
+            throw new IllegalArgumentException("teams/members 는 0 이상이어야 합니다: " + teams + ", " + members);
+        }
+        if (minAge > maxAge) {
+            throw new IllegalArgumentException("minAge > maxAge: " + minAge + " > " + maxAge);
+        }
+        if (teamSkew < 0 || !isRatio(noTeamRatio) || !isRatio(nullUsernameRatio)) {
+            throw new IllegalArgumentException("teamSkew 는 0 이상, 비율은 0~1 이어야 합니다");
+        }
+    }
+
+    public static SyntheticDataSpec of(int teams, int members) {
+        return new SyntheticDataSpec(teams, members, 0L, 0.0, AgeDistribution.SEQUENTIAL, 0, 99, 0.0, 0.0);
+    }
+
+    public SyntheticDataSpec withSeed(long seed) {
+        return new SyntheticDataSpec(teams, members, seed, teamSkew, ages, minAge, maxAge, noTeamRatio, nullUsernameRatio);
+    }
+
+    public SyntheticDataSpec withTeamSkew(double teamSkew) {
+        return new SyntheticDataSpec(teams, members, seed, teamSkew, ages, minAge, maxAge, noTeamRatio, nullUsernameRatio);
+    }
+
+    public SyntheticDataSpec withAges(AgeDistribution ages, int minAge, int maxAge) {
+        return new SyntheticDataSpec(teams, members, seed, teamSkew, ages, minAge, maxAge, noTeamRatio, nullUsernameRatio);
+    }
+
+    public SyntheticDataSpec withNoTeamRatio(double noTeamRatio) {
+        return new SyntheticDataSpec(teams, members, seed, teamSkew, ages, minAge, maxAge, noTeamRatio, nullUsernameRatio);
+    }
+
+    public SyntheticDataSpec withNullUsernameRatio(double nullUsernameRatio) {
+        return new SyntheticDataSpec(teams, members, seed, teamSkew, ages, minAge, maxAge, noTeamRatio, nullUsernameRatio);
+    }
+
+    private static boolean isRatio(double value) {
+        return value >= 0 && value <= 1;
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class IngestBatch {
+    private List<String> teams = new ArrayList<>();
+    private List<MemberIngestRequest> members = new ArrayList<>();
+
+    public IngestBatch(List<String> teams, List<MemberIngestRequest> members) {
+        this.teams = teams;
+        this.members = members;
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString(exclude = "memberIds")
+public class IngestionReport {
+    private final int teams; // 새로 만든 팀 수 (이미 있던 팀은 재사용)
+    private final int members;
+    private final List<Long> memberIds; // 요청 순서
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+
+    public IngestionReport(int teams, int members, List<Long> memberIds, long elapsedNanos) {
+        this.teams = teams;
+        this.members = members;
+        this.memberIds = List.copyOf(memberIds);
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : (teams + members) * 1_000_000_000d / elapsedNanos;
+    }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MemberExportRow {
+    private Long id;
+    private String username;
+    private int age;
+    private String teamName;
+
+    public MemberExportRow(Long id, String username, int age, String teamName) {
+        this.id = id;
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+}
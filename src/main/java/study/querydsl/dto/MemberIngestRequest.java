@@ -0,0 +1,18 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MemberIngestRequest {
+    private String username;
+    private int age;
+    private String teamName; // 없으면 팀 없는 회원
+
+    public MemberIngestRequest(String username, int age, String teamName) {
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+}
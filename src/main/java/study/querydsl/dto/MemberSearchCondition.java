@@ -0,0 +1,14 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+/**
+ * 회원 검색 조건, 값이 없는(null/빈 문자열) 조건은 무시한다.
+ */
+@Data
+public class MemberSearchCondition {
+    private String username; // 일치
+    private String teamName; // 일치
+    private Integer ageGoe;  // 이상
+    private Integer ageLoe;  // 이하
+}
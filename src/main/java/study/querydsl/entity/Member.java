@@ -2,13 +2,22 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
+@Table(indexes = { // MemberQueryRepository.search 조건별 인덱스
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_team_age", columnList = "team_id, age"), // 팀 조건(+나이 범위), 팀별 회원 조회
+        @Index(name = "idx_member_age", columnList = "age")
+})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id","username", "age"})
 public class Member {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq",
+            allocationSize = 500) // JDBC batch_size 와 맞춰서, 배치 한번에 시퀀스 호출 한번
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -32,9 +41,26 @@ public class Member {
             changeTeam(team);
         }
     }
+    /**
+     * 팀 변경 (null 이면 팀에서 뺀다)
+     * 연관관계의 주인은 member.team 이므로 Team.members 는 회원이 많은 팀도 전체를 읽지 않도록 맞춰준다.
+     * - 추가: 로딩되지 않은 컬렉션이면 Hibernate 가 추가를 쌓아뒀다가 로딩할 때 반영한다. (팀 프록시는 건드리지 않는다)
+     * - 제거: 로딩되지 않은 컬렉션에서 제거하면 전체를 읽으므로 로딩된 경우에만 맞춰준다.
+     * 팀의 회원 수/포함 여부/목록은 TeamQueryRepository 의 쿼리로 조회한다.
+     */
     public void changeTeam(Team team) {
+        Team oldTeam = this.team;
         this.team = team; // 본 엔티티의 팀속성 변경
-        team.getMembers().add(this); // 연관관계에 있는 팀속성을 변경
+        if (oldTeam != null && oldTeam != team && isLoaded(oldTeam)) {
+            oldTeam.getMembers().remove(this); // 이전 팀에서 제거
+        }
+        if (team != null && Hibernate.isInitialized(team)) {
+            team.getMembers().add(this); // 연관관계에 있는 팀속성을 변경
+        }
+    }
+
+    private static boolean isLoaded(Team team) {
+        return Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMembers());
     }
 
 }
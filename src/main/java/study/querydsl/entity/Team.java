@@ -2,25 +2,32 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.AccessLevel;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 읽기 위주 엔티티, 변경시 캐시도 함께 갱신/무효화
+@Getter @Setter // @Data 의 equals/hashCode 는 members 전체를 읽으므로 사용하지 않는다 (엔티티 동일성으로 비교)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"}) // 해당 엔티티가 소유한 필드만 정의한다, 연관관계 필드 적용시 무한루프의 위험성 존재
 public class Team {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
     private String name;
-    @OneToMany(mappedBy = "team")
+    @OneToMany(mappedBy = "team") // 읽기 전용 반대편, 크기/포함 여부/페이지는 TeamQueryRepository 로 조회
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
@@ -0,0 +1,49 @@
+package study.querydsl.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 마지막 행의 정렬 키 값들을 불투명 커서 문자열로 변환한다. (JSON 배열 -> Base64 URL)
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(List<Object> keys) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(keys);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("커서 생성 실패: " + keys, e);
+        }
+    }
+
+    /** types 순서대로 커서의 키 값을 복원한다. */
+    public static List<Object> decode(String cursor, List<Class<?>> types) {
+        JsonNode array;
+        try {
+            array = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+        if (array == null || !array.isArray() || array.size() != types.size()) {
+            throw new IllegalArgumentException("정렬 조건과 맞지 않는 커서: " + cursor);
+        }
+        List<Object> keys = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            JsonNode node = array.get(i);
+            keys.add(node.isNull() ? null : objectMapper.convertValue(node, types.get(i)));
+        }
+        return keys;
+    }
+}
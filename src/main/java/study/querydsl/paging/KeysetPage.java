@@ -0,0 +1,25 @@
+package study.querydsl.paging;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 키셋(seek) 페이지 결과
+ * - nextCursor: 다음 페이지 요청시 그대로 넘겨주는 불투명(opaque) 커서, 마지막 페이지면 null
+ * - count 쿼리를 실행하지 않으므로 전체 건수는 제공하지 않는다.
+ */
+@Getter
+@ToString(of = {"nextCursor", "hasNext"})
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public KeysetPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
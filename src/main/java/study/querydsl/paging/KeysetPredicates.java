@@ -0,0 +1,51 @@
+package study.querydsl.paging;
+
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Expressions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 정렬 조건과 마지막 행의 키 값으로 "다음 행들" 조건을 만든다.
+ *   (k1 > v1) or (k1 = v1 and k2 > v2) or ...
+ * null 은 항상 마지막(nullsLast)에 정렬된다고 가정한다.
+ */
+public final class KeysetPredicates {
+
+    private KeysetPredicates() {
+    }
+
+    /** null 정렬 위치를 고정한 정렬 조건 (키셋 조건과 정렬이 어긋나지 않도록) */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static OrderSpecifier<?>[] nullsLast(List<OrderSpecifier<?>> orders) {
+        OrderSpecifier<?>[] result = new OrderSpecifier<?>[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            OrderSpecifier<?> order = orders.get(i);
+            result[i] = new OrderSpecifier(order.getOrder(), order.getTarget(), OrderSpecifier.NullHandling.NullsLast);
+        }
+        return result;
+    }
+
+    public static Predicate after(List<OrderSpecifier<?>> orders, List<Object> keys) {
+        List<Predicate> branches = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Expression<?> target = orders.get(i).getTarget();
+            Object key = keys.get(i);
+            if (key != null) { // null 뒤에는 (같은 null 이 아닌 이상) 다음 행이 없다.
+                Operator op = orders.get(i).isAscending() ? Ops.GT : Ops.LT;
+                Predicate after = ExpressionUtils.or(
+                        Expressions.predicate(op, target, Expressions.constant(key)),
+                        Expressions.predicate(Ops.IS_NULL, target));
+                List<Predicate> branch = new ArrayList<>(equalPrefix);
+                branch.add(after);
+                branches.add(ExpressionUtils.allOf(branch));
+            }
+            equalPrefix.add(key == null
+                    ? Expressions.predicate(Ops.IS_NULL, target)
+                    : Expressions.predicate(Ops.EQ, target, Expressions.constant(key)));
+        }
+        return branches.isEmpty() ? Expressions.booleanTemplate("1 = 0") : ExpressionUtils.anyOf(branches);
+    }
+}
@@ -0,0 +1,127 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.support.VirtualThreads;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 페이지 조회 (content + count)
+ * - count 생략: content 만으로 전체 건수를 알 수 있으면 count 를 실행하지 않는다. ({@link PageableExecutionUtils})
+ * - count 병렬: 첫 페이지가 아니면(offset > 0, 앞 페이지가 다 찼다) count 가 필요할 가능성이 높으므로
+ *   별도 스레드/별도 커넥션(새 읽기 전용 트랜잭션)에서 content 와 동시에 실행한다.
+ *   첫 페이지는 content 를 먼저 조회해서 count 생략 여부를 정하므로, 생략되는 경우 두 번째 커넥션을 잡지 않는다.
+ * - 순서대로 실행(호출 스레드, 같은 커넥션)하는 경우
+ *   - 동시 병렬 count 수 제한(paging.parallel-count-limit)에 걸렸을 때 (커넥션 풀 고갈 방지)
+ *   - 호출한 쪽이 쓰기 트랜잭션이거나 flush 하지 않은 변경이 있을 때 (별도 커넥션에서는 보이지 않는다)
+ */
+@Component
+public class PagedQueryExecutor implements DisposableBean {
+
+    private final EntityManager em;
+    private final ExecutorService executor;
+    private final TransactionTemplate countTransaction;
+    private final Semaphore parallelPermits;
+
+    public PagedQueryExecutor(EntityManager em, PlatformTransactionManager transactionManager,
+                              @Value("${paging.parallel-count-limit:5}") int parallelCountLimit) {
+        this.em = em;
+        this.executor = VirtualThreads.newExecutor("paged-count-", parallelCountLimit);
+        this.countTransaction = new TransactionTemplate(transactionManager);
+        this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countTransaction.setReadOnly(true);
+        this.parallelPermits = new Semaphore(parallelCountLimit);
+    }
+
+    /**
+     * @param contentQuery 정렬까지 적용된 content 쿼리 (offset/limit 은 pageable 로 적용)
+     * @param countQuery   select count 쿼리, 필요할 때만 결과를 사용한다
+     */
+    public <T> Page<T> fetchPage(JPAQuery<T> contentQuery, JPAQuery<Long> countQuery, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<T> content = contentQuery.fetch();
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        Future<Long> parallelCount = pageable.getOffset() > 0 && canCountElsewhere() ? submitCount(countQuery) : null;
+        List<T> content;
+        try {
+            content = contentQuery
+                    .offset(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .fetch();
+        } catch (RuntimeException e) {
+            if (parallelCount != null) {
+                parallelCount.cancel(false);
+            }
+            throw e;
+        }
+        // count 가 필요 없으면 병렬 count 결과는 버린다 (실행 중인 쿼리는 끝나면 permit 을 돌려준다)
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> parallelCount == null ? fetchCount(countQuery) : await(parallelCount));
+    }
+
+    /** 별도 커넥션에서 세어도 호출한 쪽과 같은 결과를 보는지 */
+    private boolean canCountElsewhere() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !em.unwrap(Session.class).isDirty();
+    }
+
+    private Future<Long> submitCount(JPAQuery<Long> countQuery) {
+        if (!parallelPermits.tryAcquire()) {
+            return null;
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return countTransaction.execute(status -> fetchCount(countQuery));
+                } finally {
+                    parallelPermits.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            parallelPermits.release();
+            return null;
+        }
+    }
+
+    private static long fetchCount(JPAQuery<Long> countQuery) {
+        Long count = countQuery.fetchOne();
+        return count == null ? 0 : count;
+    }
+
+    private static long await(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("count 쿼리 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("count 쿼리 실패", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
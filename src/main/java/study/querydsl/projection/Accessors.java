@@ -0,0 +1,169 @@
+package study.querydsl.projection;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * DTO 접근자 생성/캐시
+ * - 기본 생성자, setter: LambdaMetafactory 로 Supplier/BiConsumer 구현체를 만들어 직접 호출한다. (리플렉션 없음)
+ * - 필드: setter 가 아닌 필드 쓰기 MethodHandle (LambdaMetafactory 는 필드 접근을 지원하지 않는다)
+ * - 생성자: 인자 배열을 펼쳐서 호출하는 MethodHandle
+ * 한번 만든 접근자는 클래스/이름별로 캐시한다.
+ */
+final class Accessors {
+
+    private static final Map<Class<?>, Supplier<?>> noArgConstructors = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, BiConsumer<Object, Object>>> setters = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, BiConsumer<Object, Object>>> fieldWriters = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<List<Class<?>>, ConstructorAccessor>> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * @param handle            (Object[]) -> Object 형태로 인자를 펼쳐서 생성자를 호출하는 핸들
+     * @param primitiveDefaults 기본형 파라미터 위치의 기본값(0, false), 나머지는 null
+     */
+    record ConstructorAccessor(MethodHandle handle, Object[] primitiveDefaults) {
+    }
+
+    private Accessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> noArgConstructor(Class<T> type) {
+        return (Supplier<T>) noArgConstructors.computeIfAbsent(type, Accessors::spinNoArgConstructor);
+    }
+
+    static BiConsumer<Object, Object> setter(Class<?> type, String property) {
+        return setters.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(property, p -> spinSetter(type, p));
+    }
+
+    static BiConsumer<Object, Object> fieldWriter(Class<?> type, String fieldName) {
+        return fieldWriters.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fieldName, f -> fieldWriterHandle(type, f));
+    }
+
+    static ConstructorAccessor constructor(Class<?> type, List<Class<?>> argTypes) {
+        return constructors.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(argTypes, a -> constructorHandle(type, a));
+    }
+
+    private static Supplier<?> spinNoArgConstructor(Class<?> type) {
+        try {
+            MethodHandles.Lookup lookup = lookup(type);
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(type));
+            return (Supplier<?>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(type.getName() + " 에 기본 생성자가 없습니다.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> spinSetter(Class<?> type, String property) {
+        Class<?> propertyType = findField(type, property).getType();
+        String setterName = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        try {
+            MethodHandles.Lookup lookup = lookup(type);
+            MethodHandle setter = lookup.findVirtual(type, setterName, MethodType.methodType(void.class, propertyType));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    setter,
+                    MethodType.methodType(void.class, type, MethodType.methodType(propertyType).wrap().returnType()));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(type.getName() + "." + setterName + "(" + propertyType.getSimpleName()
+                    + ") setter 를 찾을 수 없습니다.", e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> fieldWriterHandle(Class<?> type, String fieldName) {
+        Field field = findField(type, fieldName);
+        if (Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalArgumentException(type.getName() + "." + fieldName + " 은 값을 쓸 수 없는 필드입니다.");
+        }
+        MethodHandle writer;
+        try {
+            writer = lookup(field.getDeclaringClass())
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + "." + fieldName + " 필드에 접근할 수 없습니다.", e);
+        }
+        return (target, value) -> {
+            try {
+                writer.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static ConstructorAccessor constructorHandle(Class<?> type, List<Class<?>> argTypes) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (isAssignable(parameterTypes, argTypes)) {
+                Object[] primitiveDefaults = new Object[parameterTypes.length];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (parameterTypes[i].isPrimitive()) {
+                        primitiveDefaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                    }
+                }
+                try {
+                    MethodHandle handle = lookup(type).unreflectConstructor(constructor)
+                            .asSpreader(Object[].class, argTypes.size())
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    return new ConstructorAccessor(handle, primitiveDefaults);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalArgumentException(constructor + " 에 접근할 수 없습니다.", e);
+                }
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " 에 " + argTypes + " 인자 생성자가 없습니다.");
+    }
+
+    private static boolean isAssignable(Class<?>[] parameterTypes, List<Class<?>> argTypes) {
+        if (parameterTypes.length != argTypes.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            Class<?> argType = MethodType.methodType(argTypes.get(i)).wrap().returnType();
+            if (!parameterType.isAssignableFrom(argType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // 상위 클래스에서 찾는다
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " 에 " + name + " 필드가 없습니다. (별칭 확인: "
+                + Arrays.toString(type.getDeclaredFields()) + ")");
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
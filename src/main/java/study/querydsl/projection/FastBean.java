@@ -0,0 +1,54 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Projections.bean / Projections.fields 대체
+ * 생성 시점에 DTO 의 생성자/setter(또는 필드) 접근자를 만들어 두고, 행마다 직접 호출한다.
+ * Projections.bean 과 같이 null 값은 설정하지 않는다. (기본형 필드의 기본값 유지)
+ */
+public class FastBean<T> extends FactoryExpressionBase<T> {
+
+    private final List<Expression<?>> args;
+    private final Supplier<T> constructor;
+    private final BiConsumer<Object, Object>[] writers;
+
+    @SuppressWarnings("unchecked")
+    FastBean(Class<? extends T> type, boolean fieldAccess, Expression<?>... args) {
+        super(type);
+        this.args = List.of(args);
+        this.constructor = (Supplier<T>) Accessors.noArgConstructor(type);
+        this.writers = new BiConsumer[args.length];
+        for (int i = 0; i < args.length; i++) {
+            String property = FastProjections.propertyName(args[i]);
+            writers[i] = fieldAccess ? Accessors.fieldWriter(type, property) : Accessors.setter(type, property);
+        }
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public T newInstance(Object... a) {
+        T bean = constructor.get();
+        for (int i = 0; i < writers.length; i++) {
+            if (a[i] != null) {
+                writers[i].accept(bean, a[i]);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+}
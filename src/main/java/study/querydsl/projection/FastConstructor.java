@@ -0,0 +1,61 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projections.constructor 대체
+ * 인자 타입에 맞는 생성자를 MethodHandle 로 한번 찾아 두고, 행마다 직접 호출한다.
+ * 기본형 파라미터에 null 이 오면 기본값(0, false)을 넘긴다.
+ */
+public class FastConstructor<T> extends FactoryExpressionBase<T> {
+
+    private final List<Expression<?>> args;
+    private final Accessors.ConstructorAccessor constructor;
+
+    FastConstructor(Class<? extends T> type, Expression<?>... args) {
+        super(type);
+        this.args = List.of(args);
+        List<Class<?>> argTypes = new ArrayList<>(args.length);
+        for (Expression<?> arg : args) {
+            argTypes.add(arg.getType());
+        }
+        this.constructor = Accessors.constructor(type, argTypes);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object... a) {
+        Object[] values = a;
+        Object[] defaults = constructor.primitiveDefaults();
+        for (int i = 0; i < defaults.length; i++) {
+            if (values[i] == null && defaults[i] != null) {
+                if (values == a) {
+                    values = a.clone();
+                }
+                values[i] = defaults[i];
+            }
+        }
+        try {
+            return (T) (Object) constructor.handle().invokeExact(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(getType().getName() + " 생성 실패", e);
+        }
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+}
@@ -0,0 +1,46 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+
+/**
+ * Projections.bean / fields / constructor 를 그대로 대체하는 프로젝션 (리플렉션 없이 DTO 생성)
+ * 예)
+ *   queryFactory.select(FastProjections.fields(UserDto.class,
+ *           member.username.as("name"),
+ *           member.age))
+ * - 대상 프로퍼티 이름은 Q타입 경로 이름(member.username -> username) 또는 별칭(as("name") -> name) 이다.
+ * - DTO 접근자는 클래스/프로퍼티별로 한번만 만들어 캐시하므로, 이후 같은 프로젝션 생성 비용도 작다.
+ */
+public final class FastProjections {
+
+    private FastProjections() {
+    }
+
+    /** setter 사용 */
+    public static <T> FastBean<T> bean(Class<? extends T> type, Expression<?>... exprs) {
+        return new FastBean<>(type, false, exprs);
+    }
+
+    /** 필드 직접 접근 */
+    public static <T> FastBean<T> fields(Class<? extends T> type, Expression<?>... exprs) {
+        return new FastBean<>(type, true, exprs);
+    }
+
+    /** 생성자 사용 */
+    public static <T> FastConstructor<T> constructor(Class<? extends T> type, Expression<?>... exprs) {
+        return new FastConstructor<>(type, exprs);
+    }
+
+    static String propertyName(Expression<?> expr) {
+        if (expr instanceof Path<?> path) {
+            return path.getMetadata().getName();
+        }
+        if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+            return ((Path<?>) operation.getArg(1)).getMetadata().getName();
+        }
+        throw new IllegalArgumentException("프로퍼티 이름을 알 수 없는 식입니다. as(\"이름\") 으로 별칭을 지정하세요: " + expr);
+    }
+}
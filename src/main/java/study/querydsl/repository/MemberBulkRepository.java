@@ -0,0 +1,184 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.snapshot.MemberSnapshot;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * Member 벌크 수정/삭제 (조건에 맞는 행을 UPDATE/DELETE 한 번으로 처리)
+ * - JPQL 벌크 연산은 영속성 컨텍스트를 거치지 않으므로, 실행 전에 flush 하고 실행 후에 영향받은 엔티티를 맞춰준다.
+ *   이미 로딩된 Member 중 조건에 맞는 것만 refresh(삭제면 detach), 로딩된 Team.members 컬렉션은 Team 을 refresh 해서 다시 읽게 한다.
+ *   (초기화된 Team.members 의 원소는 모두 로딩된 Member 이므로, 로딩되지 않은 Member 는 이동할 팀(target)만 확인하면 된다)
+ * - 엔티티 이벤트가 발생하지 않으므로 팀 나이 집계/회원 스냅샷은 커밋 후 다시 적재한다.
+ * - 조건은 member 자신의 컬럼(member.team.id 포함)만 사용한다. 팀 조건은 {@link #inTeams(Predicate)} 로 감싼다.
+ */
+@Repository
+public class MemberBulkRepository {
+
+    private static final int IN_CHUNK = 1_000;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TeamAgeStatisticsRegistry teamAgeStatistics;
+    private final MemberSnapshot memberSnapshot;
+
+    public MemberBulkRepository(EntityManager em, JPAQueryFactory queryFactory,
+                                TeamAgeStatisticsRegistry teamAgeStatistics, MemberSnapshot memberSnapshot) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.teamAgeStatistics = teamAgeStatistics;
+        this.memberSnapshot = memberSnapshot;
+    }
+
+    /**
+     * 팀 조건을 member 조건으로 바꾼다. (member.team.id in (select team.id from Team team where ...))
+     * 벌크 UPDATE/DELETE 에서는 member.team.name 같은 묵시적 조인을 쓸 수 없다.
+     */
+    public static Predicate inTeams(Predicate teamCondition) {
+        return member.team.id.in(JPAExpressions.select(team.id).from(team).where(teamCondition));
+    }
+
+    /** 나이 일괄 증감 (age = age + delta) */
+    @Transactional
+    public long addAge(Predicate condition, int delta) {
+        return execute(condition, false, null, () -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(delta))
+                .where(condition)
+                .execute());
+    }
+
+    /** 팀 일괄 이동, target 이 null 이면 팀에서 뺀다 */
+    @Transactional
+    public long moveToTeam(Predicate condition, Team target) {
+        return execute(condition, false, target == null ? null : target.getId(), () -> target == null
+                ? queryFactory.update(member).setNull(member.team).where(condition).execute()
+                : queryFactory.update(member).set(member.team, target).where(condition).execute());
+    }
+
+    /** 일괄 삭제 */
+    @Transactional
+    public long delete(Predicate condition) {
+        return execute(condition, true, null, () -> queryFactory
+                .delete(member)
+                .where(condition)
+                .execute());
+    }
+
+    private long execute(Predicate condition, boolean removes, Long targetTeamId, LongSupplier statement) {
+        em.flush(); // 아직 반영되지 않은 변경이 벌크 연산에 덮어써지지 않도록
+
+        // 영향받는 행 전체가 아니라 이미 로딩된 Member 중 조건에 맞는 것만 찾는다 (조회 범위는 영속성 컨텍스트 크기)
+        List<Long> memberIds = new ArrayList<>();
+        Set<Long> teamIds = new LinkedHashSet<>();
+        List<Long> loaded = loadedIds(Member.class);
+        for (int from = 0; from < loaded.size(); from += IN_CHUNK) {
+            for (Tuple row : queryFactory
+                    .select(member.id, member.team.id)
+                    .from(member)
+                    .where(condition, member.id.in(loaded.subList(from, Math.min(from + IN_CHUNK, loaded.size()))))
+                    .fetch()) {
+                memberIds.add(row.get(member.id));
+                Long teamId = row.get(member.team.id);
+                if (teamId != null) {
+                    teamIds.add(teamId);
+                }
+            }
+        }
+        if (targetTeamId != null) {
+            teamIds.add(targetTeamId);
+        }
+
+        long rows = statement.getAsLong();
+
+        synchronizeMembers(memberIds, removes);
+        synchronizeTeams(teamIds);
+        afterCommit(() -> {
+            teamAgeStatistics.rebuild();
+            memberSnapshot.requestRefresh();
+        });
+        return rows;
+    }
+
+    private void synchronizeMembers(List<Long> memberIds, boolean removes) {
+        for (Object managed : managed(Member.class, memberIds)) {
+            if (removes) {
+                em.detach(managed);
+            } else {
+                em.refresh(managed);
+            }
+        }
+    }
+
+    private void synchronizeTeams(Set<Long> teamIds) {
+        for (Team managed : managed(Team.class, teamIds)) {
+            if (Hibernate.isInitialized(managed.getMembers())) {
+                em.refresh(managed); // members 컬렉션을 새로 로딩하도록
+            }
+        }
+    }
+
+    /** 영속성 컨텍스트에 로딩된 엔티티의 id (프록시는 초기화될 때 DB 에서 읽으므로 제외) */
+    private List<Long> loadedIds(Class<?> entityClass) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        List<Long> ids = new ArrayList<>();
+        for (EntityKey key : session.getPersistenceContextInternal().getEntitiesByKey().keySet()) {
+            if (key.getPersister().getMappedClass() == entityClass) {
+                ids.add((Long) key.getIdentifier());
+            }
+        }
+        return ids;
+    }
+
+    /** 영속성 컨텍스트에 이미 로딩된 엔티티만 (프록시는 초기화될 때 DB 에서 읽으므로 제외) */
+    private <T> List<T> managed(Class<T> entityClass, Iterable<Long> ids) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        List<T> result = new ArrayList<>();
+        for (Long id : ids) {
+            Object entity = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (entity != null) {
+                result.add(entityClass.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.jdbc.SMember.member;
+import static study.querydsl.jdbc.STeam.team;
+
+/**
+ * 회원 DTO 조회 (Querydsl SQL, JDBC 직접 조회)
+ * - JPQL 변환/엔티티 로딩/결과 변환기를 거치지 않고 ResultSet 에서 바로 DTO 를 만든다.
+ * - 조건은 QMember 대신 SMember/STeam 으로 쓴다.
+ * - 같은 트랜잭션에서 변경한 엔티티가 보이도록 조회 전에 flush 한다. (JPQL 의 AUTO flush 와 같다)
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberJdbcRepository {
+
+    private final SQLQueryFactory queryFactory;
+    private final EntityManager em;
+
+    public MemberJdbcRepository(SQLQueryFactory queryFactory, EntityManager em) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+    }
+
+    public List<MemberDto> findMemberDtos(Predicate condition) {
+        return fetch(queryFactory
+                        .from(member)
+                        .where(condition)
+                        .orderBy(member.id.asc()),
+                (rs, row) -> new MemberDto(rs.getString(1), rs.getInt(2)),
+                member.username, member.age);
+    }
+
+    /**
+     * 회원 검색 content (MemberQueryRepository.search 와 같은 조건/정렬, count 는 조회하지 않는다)
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition, Pageable pageable) {
+        SQLQuery<?> query = queryFactory
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .orderBy(member.id.asc());
+        if (pageable.isPaged()) {
+            query.offset(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return fetch(query, MemberJdbcRepository::memberTeamDto,
+                member.id, member.username, member.age, team.id, team.name);
+    }
+
+    private static MemberTeamDto memberTeamDto(ResultSet rs, int row) throws SQLException {
+        long teamId = rs.getLong(4);
+        return new MemberTeamDto(rs.getLong(1), rs.getString(2), rs.getInt(3),
+                rs.wasNull() ? null : teamId, rs.getString(5));
+    }
+
+    private <T> List<T> fetch(SQLQuery<?> query, RowMapper<T> mapper, Expression<?>... columns) {
+        if (em.isJoinedToTransaction()) {
+            em.flush();
+        }
+        List<T> results = new ArrayList<>();
+        try (ResultSet rs = query.getResults(columns)) { // 닫으면 statement 도 닫힌다
+            int row = 0;
+            while (rs.next()) {
+                results.add(mapper.mapRow(rs, row++));
+            }
+        } catch (SQLException e) {
+            throw queryFactory.getConfiguration().translate(query.getSQL().getSQL(), List.of(), e);
+        }
+        return results;
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
@@ -0,0 +1,267 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.paging.KeysetCursor;
+import study.querydsl.paging.KeysetPage;
+import study.querydsl.paging.KeysetPredicates;
+import study.querydsl.paging.PagedQueryExecutor;
+import study.querydsl.projection.FastProjections;
+import study.querydsl.snapshot.MemberSnapshot;
+import study.querydsl.support.PreparedQueryCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@Repository
+public class MemberQueryRepository {
+
+    private static final Param<String> USERNAME = new Param<>(String.class, "username");
+
+    /** findAll 에서 정렬할 수 있는 속성 (Pageable sort 이름 -> 경로) */
+    private static final Map<String, ComparableExpressionBase<?>> MEMBER_SORT = Map.of(
+            "id", member.id,
+            "username", member.username,
+            "age", member.age);
+    /** search 에서 정렬할 수 있는 속성 (MemberTeamDto 필드 이름 -> 경로) */
+    private static final Map<String, ComparableExpressionBase<?>> SEARCH_SORT = Map.of(
+            "memberId", member.id,
+            "username", member.username,
+            "age", member.age,
+            "teamId", team.id,
+            "teamName", team.name);
+
+    private final JPAQueryFactory queryFactory;
+    private final PreparedQueryCache preparedQueryCache;
+    private final PagedQueryExecutor pagedQueryExecutor;
+    private final MemberSnapshot memberSnapshot;
+
+    public MemberQueryRepository(JPAQueryFactory queryFactory, PreparedQueryCache preparedQueryCache,
+                                 PagedQueryExecutor pagedQueryExecutor, MemberSnapshot memberSnapshot) {
+        this.queryFactory = queryFactory;
+        this.preparedQueryCache = preparedQueryCache;
+        this.pagedQueryExecutor = pagedQueryExecutor;
+        this.memberSnapshot = memberSnapshot;
+    }
+
+    /**
+     * username 조회 (가장 자주 호출되는 조회이므로 직렬화된 JPQL 을 재사용한다)
+     */
+    public Member findByUsername(String username) {
+        return preparedQueryCache
+                .prepare("member.findByUsername", qf -> qf
+                        .selectFrom(member)
+                        .where(member.username.eq(USERNAME)))
+                .with(USERNAME, username)
+                .fetchOne();
+    }
+
+    /**
+     * 페이지 조회 (pageable 정렬, 없으면 username, id 순)
+     * 마지막 페이지 등 content 로 전체 건수를 알 수 있으면 count 쿼리를 생략하고, 첫 페이지가 아니면 content 와 병렬로 실행한다.
+     *
+     * @throws IllegalArgumentException 정렬할 수 없는 속성 (id, username, age 만 가능)
+     */
+    public Page<Member> findAll(Predicate condition, Pageable pageable) {
+        return pagedQueryExecutor.fetchPage(
+                queryFactory
+                        .selectFrom(member)
+                        .where(condition)
+                        .orderBy(orderBy(pageable.getSort(), MEMBER_SORT, member.username.asc())),
+                queryFactory
+                        .select(member.count())
+                        .from(member)
+                        .where(condition),
+                pageable);
+    }
+
+    /**
+     * 회원 검색 (조건이 없는 항목은 where 절에서 빠진다)
+     * - username: idx_member_username, 팀 이름: idx_team_name -> idx_member_team_age, 나이 범위: idx_member_age
+     * - 팀 이름 조건이 있으면 내부 조인(팀부터 읽을 수 있다), 없으면 content 는 외부 조인, count 쿼리는 조인하지 않는다.
+     * - 회원 스냅샷(snapshot.member.enabled)이 최신이면 DB 대신 메모리에서 평가한다. (커밋된 데이터만 보인다)
+     * - 정렬은 pageable 정렬(memberId, username, age, teamId, teamName), 없으면 memberId 순
+     *
+     * @throws IllegalArgumentException 정렬할 수 없는 속성
+     */
+    public Page<MemberTeamDto> search(MemberSearchCondition condition, Pageable pageable) {
+        OrderSpecifier<?>[] orders = orderBy(pageable.getSort(), SEARCH_SORT);
+        List<MemberTeamDto> inMemory = memberSnapshot.findInMemory(
+                ExpressionUtils.allOf(searchPredicates(condition)), orders);
+        if (inMemory != null) {
+            return page(inMemory, pageable);
+        }
+        JPAQuery<MemberTeamDto> contentQuery = queryFactory
+                .select(FastProjections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member);
+        if (StringUtils.hasText(condition.getTeamName())) { // 팀 이름 조건이 있으면 팀 없는 회원은 어차피 제외된다
+            contentQuery.join(member.team, team);
+        } else {
+            contentQuery.leftJoin(member.team, team);
+        }
+        return pagedQueryExecutor.fetchPage(
+                contentQuery
+                        .where(searchPredicates(condition))
+                        .orderBy(orders),
+                countQuery(condition),
+                pageable);
+    }
+
+    private static <T> Page<T> page(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(List.copyOf(all.subList(from, to)), pageable, all.size());
+    }
+
+    /**
+     * Pageable 정렬을 OrderSpecifier 로 바꾼다. 정렬이 없으면 defaults, 페이지 경계가 흔들리지 않도록 member.id 가 마지막 정렬 키로 붙는다.
+     */
+    private OrderSpecifier<?>[] orderBy(Sort sort, Map<String, ComparableExpressionBase<?>> sortable,
+                                        OrderSpecifier<?>... defaults) {
+        if (sort.isUnsorted()) {
+            return withIdTieBreaker(defaults).toArray(OrderSpecifier[]::new);
+        }
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = sortable.get(order.getProperty());
+            if (path == null) {
+                throw new IllegalArgumentException("정렬할 수 없는 속성입니다: " + order.getProperty());
+            }
+            OrderSpecifier<?> orderSpecifier = order.isAscending() ? path.asc() : path.desc();
+            orders.add(switch (order.getNullHandling()) {
+                case NULLS_FIRST -> orderSpecifier.nullsFirst();
+                case NULLS_LAST -> orderSpecifier.nullsLast();
+                case NATIVE -> orderSpecifier;
+            });
+        }
+        return withIdTieBreaker(orders.toArray(OrderSpecifier[]::new)).toArray(OrderSpecifier[]::new);
+    }
+
+    private JPAQuery<Long> countQuery(MemberSearchCondition condition) {
+        JPAQuery<Long> query = queryFactory
+                .select(member.count())
+                .from(member);
+        if (StringUtils.hasText(condition.getTeamName())) {
+            query.join(member.team, team);
+        }
+        return query.where(searchPredicates(condition));
+    }
+
+    private Predicate[] searchPredicates(MemberSearchCondition condition) {
+        return new Predicate[]{
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())};
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+
+    /**
+     * 키셋(seek) 페이징: (username, id) 순
+     */
+    public KeysetPage<Member> findPage(Predicate condition, String cursor, int size) {
+        return findPage(condition, cursor, size, member.username.asc());
+    }
+
+    /**
+     * 키셋(seek) 페이징
+     * - offset 대신 직전 페이지 마지막 행의 정렬 키로 조건을 걸기 때문에, 깊은 페이지도 첫 페이지와 비용이 같다.
+     * - size + 1 건을 조회해 다음 페이지 존재 여부를 판단하므로 count 쿼리가 없다.
+     * - 정렬 키는 member 의 필드만 가능하며, 유일성을 위해 member.id 가 마지막 정렬 키로 항상 붙는다.
+     *
+     * @param cursor 첫 페이지는 null, 이후에는 이전 결과의 nextCursor
+     */
+    public KeysetPage<Member> findPage(Predicate condition, String cursor, int size, OrderSpecifier<?>... orders) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다: " + size);
+        }
+        List<OrderSpecifier<?>> keyOrders = withIdTieBreaker(orders);
+        List<String> properties = new ArrayList<>(keyOrders.size());
+        List<Class<?>> types = new ArrayList<>(keyOrders.size());
+        for (OrderSpecifier<?> order : keyOrders) {
+            Path<?> path = memberProperty(order);
+            properties.add(path.getMetadata().getName());
+            types.add(path.getType());
+        }
+
+        Predicate seek = cursor == null ? null
+                : KeysetPredicates.after(keyOrders, KeysetCursor.decode(cursor, types));
+        List<Member> rows = queryFactory
+                .selectFrom(member)
+                .where(condition, seek)
+                .orderBy(KeysetPredicates.nullsLast(keyOrders))
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = rows.size() > size;
+        List<Member> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? KeysetCursor.encode(keysOf(content.get(size - 1), properties)) : null;
+        return new KeysetPage<>(content, nextCursor, hasNext);
+    }
+
+    private List<OrderSpecifier<?>> withIdTieBreaker(OrderSpecifier<?>[] orders) {
+        List<OrderSpecifier<?>> keyOrders = new ArrayList<>(Arrays.asList(orders));
+        if (keyOrders.isEmpty() || !keyOrders.get(keyOrders.size() - 1).getTarget().equals(member.id)) {
+            keyOrders.add(member.id.asc());
+        }
+        return keyOrders;
+    }
+
+    private Path<?> memberProperty(OrderSpecifier<?> order) {
+        if (order.getTarget() instanceof Path<?> path && member.equals(path.getMetadata().getParent())) {
+            return path;
+        }
+        throw new IllegalArgumentException("키셋 정렬은 member 의 필드만 가능합니다: " + order);
+    }
+
+    private List<Object> keysOf(Member last, List<String> properties) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(last);
+        List<Object> keys = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            keys.add(wrapper.getPropertyValue(property));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@Repository
+public class TeamQueryRepository {
+
+    /** 팀 이름 조회 결과를 담는 쿼리 캐시 영역 (ehcache.xml) */
+    public static final String TEAM_BY_NAME_REGION = "team.byName";
+
+    private final JPAQueryFactory queryFactory;
+
+    public TeamQueryRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * 팀 이름 조회
+     * - 쿼리 캐시에는 결과 id 만 저장되고, 엔티티는 Team 2차 캐시에서 꺼낸다.
+     * - team 테이블이 변경되면 해당 쿼리 캐시는 자동으로 무효화된다.
+     */
+    public Team findByName(String name) {
+        return queryFactory
+                .selectFrom(team)
+                .where(team.name.eq(name))
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, TEAM_BY_NAME_REGION)
+                .fetchFirst();
+    }
+
+    /** 팀의 회원 수 (Team.members 를 로딩하지 않는다, idx_member_team_age) */
+    public long countMembers(Long teamId) {
+        Long count = queryFactory
+                .select(member.count())
+                .from(member)
+                .where(member.team.id.eq(teamId))
+                .fetchOne();
+        return count == null ? 0 : count;
+    }
+
+    /** 회원이 팀에 속해 있는지 (기본키 조회 한 건) */
+    public boolean containsMember(Long teamId, Long memberId) {
+        return queryFactory
+                .selectOne()
+                .from(member)
+                .where(member.id.eq(memberId), member.team.id.eq(teamId))
+                .fetchFirst() != null;
+    }
+
+    /**
+     * 팀의 회원 페이지 (id 순), count 쿼리 없이 size + 1 건으로 다음 페이지 여부만 판단한다.
+     */
+    public Slice<Member> findMembers(Long teamId, Pageable pageable) {
+        List<Member> rows = queryFactory
+                .selectFrom(member)
+                .where(member.team.id.eq(teamId))
+                .orderBy(member.id.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .fetch();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,117 @@
+package study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.IngestBatch;
+import study.querydsl.dto.IngestionReport;
+import study.querydsl.dto.MemberIngestRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 팀/회원 대량 적재
+ * - 팀을 먼저, 회원을 나중에 엔티티별로 모아서 persist 한다. (hibernate.order_inserts)
+ * - hibernate.jdbc.batch_size 건마다 flush/clear 하여 JDBC 배치로 보내고 영속성 컨텍스트를 비운다.
+ * - 시퀀스는 pooled 방식(allocationSize)으로 미리 할당받아, 행마다 시퀀스를 조회하지 않는다.
+ * 참고: p6spy 가 배치의 모든 행을 로그로 남기므로, 처리량 측정시에는 SQL 로그를 끄고 실행한다.
+ */
+@Slf4j
+@Service
+public class BulkIngestionService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final int batchSize;
+
+    public BulkIngestionService(EntityManager em, JPAQueryFactory queryFactory,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 호출한 쪽 트랜잭션과 별개로(REQUIRES_NEW) 적재하고 커밋한다.
+     * 배치마다 영속성 컨텍스트를 비우므로, 호출한 쪽의 영속성 컨텍스트(로딩한 엔티티)를 건드리지 않도록 분리한다.
+     * 호출한 쪽에서 아직 커밋하지 않은 팀은 보이지 않으므로 새 팀으로 만들어진다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public IngestionReport ingest(IngestBatch batch) {
+        long start = System.nanoTime();
+
+        Set<String> teamNames = new LinkedHashSet<>(batch.getTeams());
+        for (MemberIngestRequest request : batch.getMembers()) {
+            if (request.getTeamName() != null) {
+                teamNames.add(request.getTeamName());
+            }
+        }
+        Map<String, Long> teamIds = findTeamIds(teamNames);
+        int createdTeams = 0;
+        for (String teamName : teamNames) {
+            if (!teamIds.containsKey(teamName)) {
+                Team newTeam = new Team(teamName);
+                em.persist(newTeam);
+                teamIds.put(teamName, newTeam.getId());
+                flushAndClearIfFull(++createdTeams);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        int count = 0;
+        List<Long> memberIds = new ArrayList<>(batch.getMembers().size());
+        for (MemberIngestRequest request : batch.getMembers()) {
+            Member member = new Member(request.getUsername(), request.getAge());
+            if (request.getTeamName() != null) {
+                // changeTeam 은 Team.members 컬렉션을 초기화하므로 참조(프록시)만 연결한다.
+                member.setTeam(em.getReference(Team.class, teamIds.get(request.getTeamName())));
+            }
+            em.persist(member);
+            memberIds.add(member.getId()); // 시퀀스 id 는 persist 할 때 정해진다
+            flushAndClearIfFull(++count);
+        }
+        em.flush();
+        em.clear();
+
+        IngestionReport report = new IngestionReport(createdTeams, count, memberIds, System.nanoTime() - start);
+        log.info("bulk ingestion: {}", report);
+        return report;
+    }
+
+    private Map<String, Long> findTeamIds(Set<String> teamNames) {
+        Map<String, Long> teamIds = new HashMap<>();
+        if (teamNames.isEmpty()) {
+            return teamIds;
+        }
+        for (Tuple tuple : queryFactory
+                .select(team.name, team.id)
+                .from(team)
+                .where(team.name.in(teamNames))
+                .fetch()) {
+            teamIds.putIfAbsent(tuple.get(team.name), tuple.get(team.id));
+        }
+        return teamIds;
+    }
+
+    private void flushAndClearIfFull(int count) {
+        if (count % batchSize == 0) {
+            em.flush();
+            em.clear();
+        }
+    }
+}
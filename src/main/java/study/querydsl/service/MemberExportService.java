@@ -0,0 +1,107 @@
+package study.querydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberExportRow;
+import study.querydsl.entity.Member;
+import study.querydsl.support.QueryStreams;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 전체를 일정한 메모리로 내보낸다. (fetch() 로 전체를 List 에 올리지 않는다)
+ */
+@Service
+public class MemberExportService {
+
+    public enum Format {NDJSON, CSV}
+
+    static final int CHUNK_SIZE = 1_000;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final ObjectMapper objectMapper;
+
+    public MemberExportService(EntityManager em, JPAQueryFactory queryFactory, ObjectMapper objectMapper) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return 내보낸 회원 수
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? csv(writer) : ndjson(writer);
+        long count;
+        try {
+            count = QueryStreams.forEach(queryFactory
+                            .selectFrom(member)
+                            .leftJoin(member.team, team).fetchJoin()
+                            .orderBy(member.id.asc()),
+                    em, CHUNK_SIZE, m -> rowWriter.write(toRow(m)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private MemberExportRow toRow(Member m) {
+        return new MemberExportRow(m.getId(), m.getUsername(), m.getAge(),
+                m.getTeam() == null ? null : m.getTeam().getName());
+    }
+
+    private RowWriter ndjson(Writer writer) {
+        return row -> {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter csv(Writer writer) throws IOException {
+        writer.write("id,username,age,teamName\n");
+        return row -> {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(csvValue(row.getUsername()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getAge()));
+            writer.write(',');
+            writer.write(csvValue(row.getTeamName()));
+            writer.write('\n');
+        };
+    }
+
+    static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void writeRow(MemberExportRow row) throws IOException;
+
+        default void write(MemberExportRow row) {
+            try {
+                writeRow(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
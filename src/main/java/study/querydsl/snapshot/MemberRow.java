@@ -0,0 +1,13 @@
+package study.querydsl.snapshot;
+
+import study.querydsl.dto.MemberTeamDto;
+
+/**
+ * 스냅샷에 복사해 둔 회원 (엔티티가 아니므로 변경 감지/지연 로딩이 없다)
+ */
+record MemberRow(Long id, String username, int age, Long teamId, TeamRow team) {
+
+    MemberTeamDto toDto() {
+        return new MemberTeamDto(id, username, age, teamId, team == null ? null : team.name());
+    }
+}
@@ -0,0 +1,205 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.projection.FastProjections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원/팀 메모리 스냅샷 (자주 호출되는 조회는 DB 를 거치지 않는다)
+ * - 전체 회원/팀을 값 객체로 복사해 두고, 같은 QMember/QTeam 조건과 정렬을 메모리에서 평가한다. ({@link SnapshotExpressions})
+ * - 기본은 비활성(snapshot.member.enabled), 활성이어도 처음 조회될 때부터 적재를 시작한다.
+ *   그 뒤로 refresh-interval 마다, 그리고 Member/Team 변경이 커밋되면 다시 적재한다.
+ * - 적재한 지 max-staleness 가 지난 스냅샷이나 평가할 수 없는 조건이면 JPA 로 조회한다.
+ * 주의: 커밋된 데이터만 보이므로, 현재 트랜잭션에서 변경한 내용을 바로 읽어야 하면 JPA 로 조회한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(MemberSnapshotProperties.class)
+public class MemberSnapshot implements DisposableBean {
+
+    private final EntityManagerFactory emf;
+    private final JPAQueryFactory queryFactory;
+    private final MemberSnapshotProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private volatile State state;
+
+    private record State(List<MemberRow> members, long loadedAtNanos) {
+    }
+
+    public MemberSnapshot(EntityManagerFactory emf, JPAQueryFactory queryFactory, MemberSnapshotProperties properties) {
+        this.emf = emf;
+        this.queryFactory = queryFactory;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 조건에 맞는 회원 (팀이 없으면 teamId/teamName 은 null)
+     * 조건에는 member 와 leftJoin(member.team, team) 의 team 별칭을 사용할 수 있다.
+     */
+    public List<MemberTeamDto> find(Predicate where, OrderSpecifier<?>... orders) {
+        List<MemberTeamDto> result = findInMemory(where, orders);
+        if (result != null) {
+            return result;
+        }
+        return queryFactory
+                .select(FastProjections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(where)
+                .orderBy(orders)
+                .fetch();
+    }
+
+    /**
+     * 스냅샷으로 평가한 결과, 사용할 수 없으면(비활성, 적재 전, max-staleness 초과, 평가할 수 없는 조건) null
+     * 처음 호출될 때 적재를 시작한다. (사용하지 않는 인스턴스는 적재하지 않는다)
+     */
+    public List<MemberTeamDto> findInMemory(Predicate where, OrderSpecifier<?>... orders) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        startIfNeeded();
+        State current = state;
+        if (current != null && isFresh(current)) {
+            try {
+                SnapshotExpressions.Compiled compiled = SnapshotExpressions.compile(where, orders);
+                List<MemberTeamDto> result = evaluate(current, compiled);
+                hits.incrementAndGet();
+                return result;
+            } catch (SnapshotExpressions.UnsupportedExpressionException e) {
+                log.debug("snapshot fallback: {}", e.getMessage());
+            }
+        }
+        fallbacks.incrementAndGet();
+        return null;
+    }
+
+    /** 다시 적재 (호출 스레드에서 바로) */
+    public synchronized void refresh() {
+        long loadedAt = System.nanoTime(); // 조회 시작 시점 기준으로 지연을 계산한다
+        EntityManager em = emf.createEntityManager();
+        try {
+            JPAQueryFactory query = new JPAQueryFactory(em);
+            Long count = query.select(member.count()).from(member).fetchOne();
+            if (count != null && count > properties.getMaxRows()) {
+                log.warn("member snapshot disabled: {} members > max-rows {}", count, properties.getMaxRows());
+                state = null;
+                return;
+            }
+            List<Tuple> memberTuples = query
+                    .select(member.id, member.username, member.age, member.team.id)
+                    .from(member)
+                    .orderBy(member.id.asc())
+                    .fetch();
+            Map<Long, TeamRow> teams = new HashMap<>();
+            for (Tuple row : query.select(team.id, team.name).from(team).fetch()) { // 회원 다음에 읽어서 참조하는 팀이 모두 있도록
+                teams.put(row.get(team.id), new TeamRow(row.get(team.id), row.get(team.name)));
+            }
+            List<MemberRow> members = new ArrayList<>(memberTuples.size());
+            for (Tuple row : memberTuples) {
+                Long teamId = row.get(member.team.id);
+                members.add(new MemberRow(row.get(member.id), row.get(member.username), row.get(member.age),
+                        teamId, teamId == null ? null : teams.get(teamId)));
+            }
+            state = new State(List.copyOf(members), loadedAt);
+            log.debug("member snapshot loaded: {} members, {} teams", members.size(), teams.size());
+        } finally {
+            em.close();
+        }
+    }
+
+    /** 다시 적재 요청 (별도 스레드, 이미 요청돼 있으면 합친다), 아직 사용되지 않은 스냅샷은 적재하지 않는다 */
+    public void requestRefresh() {
+        if (started.get() && refreshRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::refreshQuietly);
+        }
+    }
+
+    public boolean isFresh() {
+        State current = state;
+        return current != null && isFresh(current);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.get();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void startIfNeeded() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            long interval = properties.getRefreshInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean isFresh(State current) {
+        return System.nanoTime() - current.loadedAtNanos() <= properties.getMaxStaleness().toNanos();
+    }
+
+    private static List<MemberTeamDto> evaluate(State current, SnapshotExpressions.Compiled compiled) {
+        List<MemberRow> matched = new ArrayList<>();
+        for (MemberRow row : current.members()) {
+            if (compiled.filter().test(row)) {
+                matched.add(row);
+            }
+        }
+        if (compiled.order() != null) {
+            matched.sort(compiled.order());
+        }
+        List<MemberTeamDto> result = new ArrayList<>(matched.size());
+        for (MemberRow row : matched) {
+            result.add(row.toDto());
+        }
+        return result;
+    }
+
+    private void refreshQuietly() {
+        refreshRequested.set(false);
+        try {
+            refresh();
+        } catch (RuntimeException e) { // 실패해도 다음 주기에 다시 시도, 그동안 오래된 스냅샷은 JPA 로 대체된다
+            log.warn("member snapshot refresh failed", e);
+        }
+    }
+}
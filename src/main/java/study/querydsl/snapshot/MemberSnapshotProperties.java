@@ -0,0 +1,23 @@
+package study.querydsl.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 회원/팀 메모리 스냅샷 설정
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "snapshot.member")
+public class MemberSnapshotProperties {
+    /** false 면 항상 DB 에서 조회 (켜면 회원 수에 비례하는 메모리와 주기적 재적재 비용이 든다) */
+    private boolean enabled = false;
+    /** 이보다 오래된 스냅샷은 사용하지 않고 DB 에서 조회한다 (읽기 시점 기준 최대 지연) */
+    private Duration maxStaleness = Duration.ofSeconds(10);
+    /** 주기적 재적재 간격, Member/Team 변경이 커밋되면 간격과 관계없이 다시 적재한다 */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    /** 회원 수가 이보다 많으면 스냅샷을 만들지 않는다 (메모리 상한) */
+    private int maxRows = 200_000;
+}
@@ -0,0 +1,70 @@
+package study.querydsl.snapshot;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * Member/Team 저장/수정/삭제가 커밋되면 스냅샷을 다시 적재하도록 요청한다.
+ * (벌크 연산은 이벤트가 없으므로 MemberBulkRepository 가 직접 요청한다)
+ */
+@Component
+public class MemberSnapshotRefreshListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final MemberSnapshot snapshot;
+
+    public MemberSnapshotRefreshListener(EntityManagerFactory emf, MemberSnapshot snapshot) {
+        this.emf = emf;
+        this.snapshot = snapshot;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry listenerRegistry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Member.class || persister.getMappedClass() == Team.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        snapshot.requestRefresh();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        snapshot.requestRefresh();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        snapshot.requestRefresh();
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+}
@@ -0,0 +1,289 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.core.types.*;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * QMember/QTeam 조건과 정렬을 스냅샷 행({@link MemberRow})에 대해 평가하는 함수로 바꾼다. (Querydsl collections 방식의 메모리 평가)
+ * - SQL 과 같은 3값 논리: 비교 대상이 null 이면 결과는 null(unknown) 이고, where 에서 unknown 은 거짓으로 취급한다.
+ * - member.team.name 처럼 묵시적 조인 경로는 JPQL 과 같이 내부 조인(팀 없는 회원 제외),
+ *   leftJoin(member.team, team) 별칭인 team.name 은 외부 조인(팀 없으면 null)으로 평가한다.
+ * - 엔티티 값(member.team.eq(teamA))은 id 로 비교한다.
+ * - 정렬의 null 은 H2 기본값처럼 가장 작은 값으로 취급한다. (asc: 처음, desc: 마지막)
+ * 지원하지 않는 식(서브쿼리, 파라미터, 템플릿, 그 외 경로/연산자)은 {@link UnsupportedExpressionException}.
+ */
+final class SnapshotExpressions {
+
+    /** 스냅샷 행에서 값 계산 */
+    interface Value {
+        Object get(MemberRow row);
+    }
+
+    record Compiled(java.util.function.Predicate<MemberRow> filter, Comparator<MemberRow> order) {
+    }
+
+    static class UnsupportedExpressionException extends RuntimeException {
+        UnsupportedExpressionException(Object expression) {
+            super("snapshot 에서 평가할 수 없는 식입니다: " + expression);
+        }
+    }
+
+    private final List<java.util.function.Predicate<MemberRow>> joinFilters = new ArrayList<>();
+
+    private SnapshotExpressions() {
+    }
+
+    static Compiled compile(Predicate where, OrderSpecifier<?>... orders) {
+        SnapshotExpressions compiler = new SnapshotExpressions();
+        java.util.function.Predicate<MemberRow> filter = row -> true;
+        if (where != null) {
+            Value condition = compiler.value(where);
+            filter = row -> Boolean.TRUE.equals(condition.get(row));
+        }
+        Comparator<MemberRow> order = null;
+        for (OrderSpecifier<?> orderSpecifier : orders) {
+            Comparator<MemberRow> next = compiler.comparator(orderSpecifier);
+            order = order == null ? next : order.thenComparing(next);
+        }
+        for (java.util.function.Predicate<MemberRow> joinFilter : compiler.joinFilters) {
+            filter = joinFilter.and(filter);
+        }
+        return new Compiled(filter, order);
+    }
+
+    private Comparator<MemberRow> comparator(OrderSpecifier<?> orderSpecifier) {
+        Value target = value(orderSpecifier.getTarget());
+        boolean nullsFirst = switch (orderSpecifier.getNullHandling()) {
+            case NullsFirst -> true;
+            case NullsLast -> false;
+            case Default -> orderSpecifier.isAscending(); // null 이 가장 작은 값
+        };
+        Comparator<Object> values = (a, b) -> compare(a, b);
+        Comparator<Object> direction = orderSpecifier.isAscending() ? values : values.reversed();
+        Comparator<Object> withNulls = nullsFirst ? Comparator.nullsFirst(direction) : Comparator.nullsLast(direction);
+        return (left, right) -> withNulls.compare(target.get(left), target.get(right));
+    }
+
+    private Value value(Expression<?> expression) {
+        if (expression instanceof Constant<?> constant) {
+            Object value = normalize(constant.getConstant());
+            return row -> value;
+        }
+        if (expression instanceof Path<?> path) {
+            return path(path);
+        }
+        if (expression instanceof Operation<?> operation) {
+            return operation(operation);
+        }
+        throw new UnsupportedExpressionException(expression);
+    }
+
+    private Value path(Path<?> path) {
+        if (path.equals(member)) {
+            return MemberRow::id;
+        }
+        if (path.equals(member.team) || path.equals(team)) { // 엔티티는 id 로 비교
+            return MemberRow::teamId;
+        }
+        PathMetadata metadata = path.getMetadata();
+        Path<?> parent = metadata.getParent();
+        String property = metadata.getName();
+        if (member.equals(parent)) {
+            switch (property) {
+                case "id":
+                    return MemberRow::id;
+                case "username":
+                    return MemberRow::username;
+                case "age":
+                    return MemberRow::age;
+                default:
+            }
+        } else if (member.team.equals(parent) || team.equals(parent)) {
+            if ("id".equals(property)) { // 외래키 값, 조인하지 않는다
+                return MemberRow::teamId;
+            }
+            if ("name".equals(property)) {
+                if (member.team.equals(parent)) {
+                    joinFilters.add(row -> row.team() != null); // 묵시적 조인 = 내부 조인
+                }
+                return row -> row.team() == null ? null : row.team().name();
+            }
+        }
+        throw new UnsupportedExpressionException(path);
+    }
+
+    private Value operation(Operation<?> operation) {
+        Operator operator = operation.getOperator();
+        List<Value> args = new ArrayList<>(operation.getArity());
+        if (operator == Ops.IN || operator == Ops.NOT_IN) {
+            return in(operation, operator == Ops.NOT_IN);
+        }
+        if (operator == Ops.LIKE) {
+            return like(operation);
+        }
+        for (Expression<?> arg : operation.getArgs()) {
+            args.add(value(arg));
+        }
+        Value a = args.get(0);
+        Value b = args.size() > 1 ? args.get(1) : null;
+        if (operator == Ops.AND) {
+            return row -> and(a.get(row), b.get(row));
+        } else if (operator == Ops.OR) {
+            return row -> or(a.get(row), b.get(row));
+        } else if (operator == Ops.NOT) {
+            return row -> a.get(row) instanceof Boolean bool ? !bool : null;
+        } else if (operator == Ops.IS_NULL) {
+            return row -> a.get(row) == null;
+        } else if (operator == Ops.IS_NOT_NULL) {
+            return row -> a.get(row) != null;
+        } else if (operator == Ops.EQ) {
+            return row -> compared(a.get(row), b.get(row), c -> c == 0);
+        } else if (operator == Ops.NE) {
+            return row -> compared(a.get(row), b.get(row), c -> c != 0);
+        } else if (operator == Ops.LT) {
+            return row -> compared(a.get(row), b.get(row), c -> c < 0);
+        } else if (operator == Ops.GT) {
+            return row -> compared(a.get(row), b.get(row), c -> c > 0);
+        } else if (operator == Ops.LOE) {
+            return row -> compared(a.get(row), b.get(row), c -> c <= 0);
+        } else if (operator == Ops.GOE) {
+            return row -> compared(a.get(row), b.get(row), c -> c >= 0);
+        } else if (operator == Ops.BETWEEN) {
+            Value upper = args.get(2);
+            return row -> and(compared(a.get(row), b.get(row), c -> c >= 0),
+                    compared(a.get(row), upper.get(row), c -> c <= 0));
+        } else if (operator == Ops.EQ_IGNORE_CASE) {
+            return row -> strings(a.get(row), b.get(row), String::equalsIgnoreCase);
+        } else if (operator == Ops.STARTS_WITH) {
+            return row -> strings(a.get(row), b.get(row), String::startsWith);
+        } else if (operator == Ops.ENDS_WITH) {
+            return row -> strings(a.get(row), b.get(row), String::endsWith);
+        } else if (operator == Ops.STRING_CONTAINS) {
+            return row -> strings(a.get(row), b.get(row), String::contains);
+        } else if (operator == Ops.LOWER) {
+            return row -> a.get(row) instanceof String s ? s.toLowerCase(Locale.ROOT) : null;
+        } else if (operator == Ops.UPPER) {
+            return row -> a.get(row) instanceof String s ? s.toUpperCase(Locale.ROOT) : null;
+        } else if (operator == Ops.STRING_LENGTH) {
+            return row -> a.get(row) instanceof String s ? s.length() : null;
+        } else if (operator == Ops.ADD || operator == Ops.SUB || operator == Ops.MULT) {
+            return row -> arithmetic(operator, a.get(row), b.get(row));
+        } else if (operator == Ops.NEGATE) {
+            return row -> a.get(row) instanceof Number n ? arithmetic(Ops.SUB, 0, n) : null;
+        }
+        throw new UnsupportedExpressionException(operation);
+    }
+
+    private Value in(Operation<?> operation, boolean negate) {
+        if (!(operation.getArg(1) instanceof Constant<?> constant && constant.getConstant() instanceof Collection<?> c)) {
+            throw new UnsupportedExpressionException(operation); // 서브쿼리 IN 등
+        }
+        Value a = value(operation.getArg(0));
+        List<Object> candidates = new ArrayList<>(c.size());
+        for (Object candidate : c) {
+            candidates.add(normalize(candidate));
+        }
+        return row -> {
+            Object value = a.get(row);
+            if (value == null) {
+                return null;
+            }
+            boolean found = candidates.stream().anyMatch(candidate -> candidate != null && compare(value, candidate) == 0);
+            return negate != found;
+        };
+    }
+
+    private Value like(Operation<?> operation) {
+        if (!(operation.getArg(1) instanceof Constant<?> constant && constant.getConstant() instanceof String pattern)) {
+            throw new UnsupportedExpressionException(operation);
+        }
+        StringBuilder regex = new StringBuilder();
+        for (char ch : pattern.toCharArray()) {
+            if (ch == '%') {
+                regex.append(".*");
+            } else if (ch == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(ch)));
+            }
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        Value a = value(operation.getArg(0));
+        return row -> a.get(row) instanceof String s ? compiled.matcher(s).matches() : null;
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Member m) {
+            return m.getId();
+        }
+        if (value instanceof Team t) {
+            return t.getId();
+        }
+        return value;
+    }
+
+    private static Boolean and(Object a, Object b) {
+        if (Boolean.FALSE.equals(a) || Boolean.FALSE.equals(b)) {
+            return false;
+        }
+        return a == null || b == null ? null : true;
+    }
+
+    private static Boolean or(Object a, Object b) {
+        if (Boolean.TRUE.equals(a) || Boolean.TRUE.equals(b)) {
+            return true;
+        }
+        return a == null || b == null ? null : false;
+    }
+
+    private static Boolean compared(Object a, Object b, java.util.function.IntPredicate test) {
+        return a == null || b == null ? null : test.test(compare(a, b));
+    }
+
+    private static Boolean strings(Object a, Object b, java.util.function.BiPredicate<String, String> test) {
+        return a instanceof String left && b instanceof String right ? test.test(left, right) : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return isIntegral(x) && isIntegral(y)
+                    ? Long.compare(x.longValue(), y.longValue())
+                    : Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        if (a instanceof Comparable comparable && a.getClass() == b.getClass()) {
+            return comparable.compareTo(b);
+        }
+        return Objects.equals(a, b) ? 0 : -1; // 비교할 수 없는 값은 같지 않음으로만 취급
+    }
+
+    private static Number arithmetic(Operator operator, Object a, Object b) {
+        if (!(a instanceof Number x) || !(b instanceof Number y)) {
+            return null;
+        }
+        if (isIntegral(x) && isIntegral(y)) {
+            long l = x.longValue();
+            long r = y.longValue();
+            return operator == Ops.ADD ? l + r : operator == Ops.SUB ? l - r : l * r;
+        }
+        double l = x.doubleValue();
+        double r = y.doubleValue();
+        return operator == Ops.ADD ? l + r : operator == Ops.SUB ? l - r : l * r;
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+}
@@ -0,0 +1,4 @@
+package study.querydsl.snapshot;
+
+record TeamRow(Long id, String name) {
+}
@@ -0,0 +1,95 @@
+package study.querydsl.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 반복 실행된 SQL 모양이 어떤 연관관계의 지연 로딩인지 찾는다.
+ * - "from team t where t.team_id=?"   -> team 의 PK 로 조회: Member.team 프록시 초기화
+ * - "from member m where m.team_id=?" -> 컬렉션 외래키로 조회: Team.members 초기화
+ */
+@Component
+public class AssociationResolver {
+
+    private static final Pattern SINGLE_KEY_SELECT =
+            Pattern.compile("^select .+ from (\\w+) (\\w+) where \\2\\.(\\w+) ?= ?\\?$");
+
+    private final EntityManagerFactory emf;
+    private volatile Map<String, String> associations;
+
+    public AssociationResolver(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /** @param shape {@link SqlShapes#normalize} 로 정규화된 SQL */
+    public Optional<String> resolve(String shape) {
+        Matcher matcher = SINGLE_KEY_SELECT.matcher(shape);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(associations().get(matcher.group(1) + "." + matcher.group(3)));
+    }
+
+    private Map<String, String> associations() {
+        Map<String, String> result = associations;
+        if (result == null) {
+            result = buildAssociations();
+            associations = result;
+        }
+        return result;
+    }
+
+    /** "테이블.조회컬럼" -> 연관관계 이름 */
+    private Map<String, String> buildAssociations() {
+        MappingMetamodel metamodel = emf.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+        Map<String, String> result = new HashMap<>();
+        Map<String, List<String>> toOneByTarget = new HashMap<>();
+
+        metamodel.forEachEntityDescriptor(persister -> {
+            String[] names = persister.getPropertyNames();
+            Type[] types = persister.getPropertyTypes();
+            for (int i = 0; i < names.length; i++) {
+                if (types[i] instanceof EntityType entityType) {
+                    toOneByTarget.computeIfAbsent(entityType.getAssociatedEntityName(), k -> new ArrayList<>())
+                            .add(unqualify(persister.getEntityName()) + "." + names[i]);
+                }
+            }
+        });
+        metamodel.forEachEntityDescriptor(persister -> {
+            if (persister instanceof AbstractEntityPersister entityPersister) {
+                List<String> toOnes = toOneByTarget.get(persister.getEntityName());
+                if (toOnes != null) {
+                    result.put(key(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()),
+                            String.join(", ", toOnes));
+                }
+            }
+        });
+        metamodel.forEachCollectionDescriptor(persister -> {
+            if (persister instanceof AbstractCollectionPersister collectionPersister) {
+                result.put(key(collectionPersister.getTableName(), collectionPersister.getKeyColumnNames()),
+                        unqualify(collectionPersister.getOwnerEntityPersister().getEntityName())
+                                + "." + unqualify(collectionPersister.getRole()));
+            }
+        });
+        return result;
+    }
+
+    private static String key(String table, String[] columns) {
+        String tableName = table.substring(table.lastIndexOf('.') + 1);
+        return (tableName + "." + columns[0]).toLowerCase();
+    }
+
+    private static String unqualify(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
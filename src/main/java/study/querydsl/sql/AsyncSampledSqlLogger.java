@@ -0,0 +1,102 @@
+package study.querydsl.sql;
+
+import com.p6spy.engine.logging.Category;
+import com.p6spy.engine.spy.appender.P6Logger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * p6spy 비동기/샘플링 appender (decorator.datasource.p6spy.custom-appender-class)
+ * - 느린 SQL(slow-threshold 이상)은 바인딩 값이 들어간 SQL 전체를 항상 WARN 으로 남긴다.
+ *   링 버퍼가 가득 차면 호출 스레드에서 바로 기록해서 빠뜨리지 않는다.
+ * - 나머지는 sample-rate 비율만 INFO 로 남기고, 버퍼가 가득 차면 버린다. (버린 건수는 주기적으로 기록)
+ * - 실제 로그 출력(I/O)은 별도 데몬 스레드에서 한다.
+ * p6spy 가 리플렉션으로 생성하므로 설정은 {@link SqlLogConfig} 가 {@link #configure} 로 전달한다.
+ */
+public class AsyncSampledSqlLogger implements P6Logger {
+
+    private static final Logger log = LoggerFactory.getLogger("p6spy");
+
+    private static volatile SqlLogProperties settings = new SqlLogProperties();
+
+    private final BlockingQueue<Entry> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AsyncSampledSqlLogger() {
+        this.buffer = new ArrayBlockingQueue<>(settings.getBufferSize());
+        Thread writer = new Thread(this::drain, "p6spy-async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static void configure(SqlLogProperties properties) {
+        settings = properties;
+    }
+
+    @Override
+    public void logSQL(int connectionId, String now, long elapsed, Category category, String prepared, String sql,
+                       String url) {
+        SqlLogProperties current = settings;
+        boolean slow = elapsed >= current.getSlowThreshold().toMillis();
+        if (!slow && (current.getSampleRate() <= 0
+                || ThreadLocalRandom.current().nextDouble() >= current.getSampleRate())) {
+            return;
+        }
+        Entry entry = new Entry(slow, connectionId, elapsed, category.getName(), slow ? sql : prepared);
+        if (!buffer.offer(entry)) {
+            if (slow) {
+                entry.write();
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void logException(Exception e) {
+        log.warn("", e);
+    }
+
+    @Override
+    public void logText(String text) {
+        log.info(text);
+    }
+
+    /** commit/rollback/resultset 등은 기록하지 않는다 */
+    @Override
+    public boolean isCategoryEnabled(Category category) {
+        return category == Category.STATEMENT || category == Category.BATCH
+                || category == Category.ERROR || category == Category.OUTAGE;
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                buffer.take().write();
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    log.warn("sampled SQL log entries dropped (buffer full): {}", lost);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) { // 로그 출력 실패로 기록 스레드가 멈추지 않도록
+                log.error("failed to write SQL log entry", e);
+            }
+        }
+    }
+
+    private record Entry(boolean slow, int connectionId, long elapsed, String category, String sql) {
+        void write() {
+            if (slow) {
+                log.warn("slow {} {}ms connection {} | {}", category, elapsed, connectionId, sql);
+            } else {
+                log.info("sampled {} {}ms connection {} | {}", category, elapsed, connectionId, sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package study.querydsl.sql;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p6spy 이벤트로 SQL 모양(shape)별 실행 시간/실행 횟수/조회 행 수를 Micrometer 지표로 기록한다.
+ * - sql.query (Timer, tag shape): 실행 시간 백분위수, 실행 횟수
+ * - sql.query.rows (DistributionSummary, tag shape): 실행당 읽은 행 수
+ * - sql.query.errors (Counter, tag shape)
+ * shape 태그는 정규화한 SQL 의 해시이고, 원문(JPQL/SQL)은 {@link QueryShapesEndpoint} 에서 볼 수 있다.
+ */
+public class QueryShapeMetrics extends JdbcEventListener {
+
+    static final String OTHER = "other";
+    private static final int SQL_CACHE_LIMIT = 10_000;
+
+    private final MeterRegistry registry;
+    private final QueryShapeMetricsProperties properties;
+    private final Map<String, ShapeMeters> shapes = new ConcurrentHashMap<>();
+    /** 실행된 SQL 문자열 -> 모양 (정규화는 비싸므로 SQL 문자열마다 한번만) */
+    private final Map<String, ShapeMeters> bySql = new ConcurrentHashMap<>();
+    /** 열려 있는 ResultSet 별로 읽은 행 수 */
+    private final Map<ResultSetInformation, int[]> openResultSets = new ConcurrentHashMap<>();
+
+    public QueryShapeMetrics(MeterRegistry registry, QueryShapeMetricsProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        ShapeMeters meters = meters(statementInformation.getSql());
+        meters.timer.record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+        if (e != null) {
+            meters.errors.increment();
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext,
+                                     SQLException e) {
+        if (hasNext) {
+            openResultSets.computeIfAbsent(resultSetInformation, info -> new int[1])[0]++;
+        }
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        int[] rows = openResultSets.remove(resultSetInformation);
+        meters(resultSetInformation.getStatementInformation().getSql()).rows.record(rows == null ? 0 : rows[0]);
+    }
+
+    /** 모양별 지표, sort: mean, max, total, count, percentile(기본) 중 큰 순서 */
+    public List<QueryShapeReport> report(int limit, String sort) {
+        Comparator<QueryShapeReport> order = switch (sort == null ? "percentile" : sort) {
+            case "mean" -> Comparator.comparingDouble(QueryShapeReport::getMeanMs);
+            case "max" -> Comparator.comparingDouble(QueryShapeReport::getMaxMs);
+            case "total" -> Comparator.comparingDouble(QueryShapeReport::getTotalMs);
+            case "count" -> Comparator.comparingLong(QueryShapeReport::getCount);
+            case "percentile" -> Comparator.comparingDouble(QueryShapeReport::getTopPercentileMs);
+            default -> throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sort);
+        };
+        List<QueryShapeReport> reports = new ArrayList<>();
+        for (ShapeMeters meters : shapes.values()) {
+            reports.add(meters.report());
+        }
+        reports.sort(order.reversed());
+        return reports.subList(0, Math.min(limit, reports.size()));
+    }
+
+    /** 집계를 비운다 (등록된 지표도 제거) */
+    public void reset() {
+        shapes.values().forEach(ShapeMeters::remove);
+        shapes.clear();
+        bySql.clear();
+        openResultSets.clear();
+    }
+
+    private ShapeMeters meters(String sql) {
+        String key = sql == null ? "" : sql;
+        ShapeMeters meters = bySql.get(key);
+        if (meters != null) {
+            return meters;
+        }
+        if (bySql.size() >= SQL_CACHE_LIMIT) { // IN 목록 길이마다 SQL 이 달라지는 경우 등
+            bySql.clear();
+        }
+        String shape = SqlShapes.normalize(sql);
+        meters = shapes.get(shape);
+        if (meters == null) {
+            meters = shapes.size() < properties.getMaxShapes()
+                    ? shapes.computeIfAbsent(shape, s -> new ShapeMeters(id(s), SqlShapes.leadingComment(sql), s))
+                    : shapes.computeIfAbsent(OTHER, s -> new ShapeMeters(OTHER, null, OTHER));
+        }
+        bySql.put(key, meters);
+        return meters;
+    }
+
+    private static String id(String shape) {
+        return String.format("%08x", shape.hashCode());
+    }
+
+    private final class ShapeMeters {
+        private final String id;
+        private final String query;
+        private final String sql;
+        private final Timer timer;
+        private final DistributionSummary rows;
+        private final Counter errors;
+
+        ShapeMeters(String id, String query, String sql) {
+            this.id = id;
+            this.query = query == null ? sql : query;
+            this.sql = sql;
+            this.timer = Timer.builder("sql.query")
+                    .description("SQL 실행 시간 (모양별)")
+                    .tag("shape", id)
+                    .publishPercentiles(properties.getPercentiles())
+                    .register(registry);
+            this.rows = DistributionSummary.builder("sql.query.rows")
+                    .description("실행당 읽은 행 수 (모양별)")
+                    .tag("shape", id)
+                    .register(registry);
+            this.errors = Counter.builder("sql.query.errors")
+                    .tag("shape", id)
+                    .register(registry);
+        }
+
+        QueryShapeReport report() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                String name = BigDecimal.valueOf(value.percentile()).movePointRight(2).stripTrailingZeros().toPlainString();
+                percentiles.put("p" + name, value.value(TimeUnit.MILLISECONDS)); // p50, p95, p99, p99.9
+            }
+            return new QueryShapeReport(id, query, sql,
+                    snapshot.count(),
+                    (long) errors.count(),
+                    snapshot.total(TimeUnit.MILLISECONDS),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    percentiles,
+                    (long) rows.totalAmount(),
+                    rows.mean());
+        }
+
+        void remove() {
+            registry.remove(timer);
+            registry.remove(rows);
+            registry.remove(errors);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryShapeMetricsProperties.class)
+@ConditionalOnProperty(prefix = "sql.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryShapeMetricsConfig {
+
+    @Bean
+    QueryShapeMetrics queryShapeMetrics(MeterRegistry registry, QueryShapeMetricsProperties properties) {
+        return new QueryShapeMetrics(registry, properties);
+    }
+
+    @Bean
+    QueryShapesEndpoint queryShapesEndpoint(QueryShapeMetrics queryShapeMetrics) {
+        return new QueryShapesEndpoint(queryShapeMetrics);
+    }
+}
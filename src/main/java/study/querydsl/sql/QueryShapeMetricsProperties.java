@@ -0,0 +1,19 @@
+package study.querydsl.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 모양(shape)별 실행 시간/행 수 지표
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "sql.metrics")
+public class QueryShapeMetricsProperties {
+    /** SQL 실행을 모양별로 집계할지 여부 */
+    private boolean enabled = true;
+    /** 집계하는 모양 수의 상한, 넘치면 "other" 로 묶는다 (지표 태그 수 제한) */
+    private int maxShapes = 500;
+    /** 계산할 백분위수 */
+    private double[] percentiles = {0.5, 0.95, 0.99};
+}
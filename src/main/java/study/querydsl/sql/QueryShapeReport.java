@@ -0,0 +1,46 @@
+package study.querydsl.sql;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * SQL 모양 하나의 실행 지표 (/actuator/queryshapes)
+ * 시간은 ms, 백분위수/최대값은 최근 구간(Micrometer 기본 2분) 기준이다.
+ */
+@Getter
+@ToString
+public class QueryShapeReport {
+    private final String id;
+    private final String query; // 실행한 JPQL (SQL 주석), 없으면 SQL 모양
+    private final String sql;
+    private final long count;
+    private final long errors;
+    private final double totalMs;
+    private final double meanMs;
+    private final double maxMs;
+    private final Map<String, Double> percentilesMs;
+    private final long rows;
+    private final double meanRows;
+
+    public QueryShapeReport(String id, String query, String sql, long count, long errors, double totalMs,
+                            double meanMs, double maxMs, Map<String, Double> percentilesMs, long rows, double meanRows) {
+        this.id = id;
+        this.query = query;
+        this.sql = sql;
+        this.count = count;
+        this.errors = errors;
+        this.totalMs = totalMs;
+        this.meanMs = meanMs;
+        this.maxMs = maxMs;
+        this.percentilesMs = percentilesMs;
+        this.rows = rows;
+        this.meanRows = meanRows;
+    }
+
+    /** 가장 높은 백분위수 (정렬 기준), 없으면 최대값 */
+    public double getTopPercentileMs() {
+        return percentilesMs.isEmpty() ? maxMs : percentilesMs.values().stream().reduce((a, b) -> b).orElse(maxMs);
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * GET /actuator/queryshapes?limit=10&sort=percentile : 느린 SQL 모양 상위 N 개
+ * sort: percentile(가장 높은 백분위수, 기본), mean, max, total, count
+ * DELETE /actuator/queryshapes : 집계 초기화 (배포/부하 테스트 전후 비교용)
+ */
+@Endpoint(id = "queryshapes")
+public class QueryShapesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final QueryShapeMetrics metrics;
+
+    public QueryShapesEndpoint(QueryShapeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ReadOperation
+    public List<QueryShapeReport> shapes(@Nullable Integer limit, @Nullable String sort) {
+        return metrics.report(limit == null ? DEFAULT_LIMIT : limit, sort);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        metrics.reset();
+    }
+}
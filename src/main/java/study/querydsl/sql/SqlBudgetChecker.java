@@ -0,0 +1,48 @@
+package study.querydsl.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 닫힌 {@link SqlStatementScope} 를 예산과 비교해서 경고 로그를 남기거나 예외를 던진다.
+ */
+@Slf4j
+@Component
+public class SqlBudgetChecker {
+
+    private final AssociationResolver associationResolver;
+
+    public SqlBudgetChecker(AssociationResolver associationResolver) {
+        this.associationResolver = associationResolver;
+    }
+
+    /** @return 위반 내역, 없으면 빈 목록 */
+    public List<String> violations(SqlStatementScope scope, int maxStatements, int repeatedThreshold) {
+        List<String> violations = new ArrayList<>();
+        if (scope.getTotalCount() > maxStatements) {
+            violations.add("SQL " + scope.getTotalCount() + "회 실행 (허용: " + maxStatements + "회)");
+        }
+        for (Map.Entry<String, Integer> repeated : scope.getRepeatedShapes(repeatedThreshold).entrySet()) {
+            String association = associationResolver.resolve(repeated.getKey())
+                    .map(name -> " <- " + name + " 지연 로딩 (N+1 의심)")
+                    .orElse("");
+            violations.add(repeated.getValue() + "회 반복" + association + ": " + repeated.getKey());
+        }
+        return violations;
+    }
+
+    public void check(SqlStatementScope scope, int maxStatements, int repeatedThreshold, boolean fail) {
+        List<String> violations = violations(scope, maxStatements, repeatedThreshold);
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (fail) {
+            throw new SqlBudgetExceededException(scope.getName(), violations);
+        }
+        log.warn("SQL 실행 예산 초과 [{}]\n - {}", scope.getName(), String.join("\n - ", violations));
+    }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sql.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetProperties properties, SqlBudgetChecker checker) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(properties, checker));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,9 @@
+package study.querydsl.sql;
+
+import java.util.List;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String scopeName, List<String> violations) {
+        super("SQL 실행 예산 초과 [" + scopeName + "]\n - " + String.join("\n - ", violations));
+    }
+}
@@ -0,0 +1,37 @@
+package study.querydsl.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청마다 SQL 실행 수를 집계하고, 요청이 끝나면 예산을 확인한다.
+ * (요청 스레드에서 실행된 SQL 만 집계한다)
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetProperties properties;
+    private final SqlBudgetChecker checker;
+
+    public SqlBudgetFilter(SqlBudgetProperties properties, SqlBudgetChecker checker) {
+        this.properties = properties;
+        this.checker = checker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementScope scope = SqlStatementScope.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+        checker.check(scope, properties.getMaxStatements(), properties.getRepeatedThreshold(),
+                properties.isFailOnViolation());
+    }
+}
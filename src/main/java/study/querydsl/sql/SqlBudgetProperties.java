@@ -0,0 +1,21 @@
+package study.querydsl.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 요청(또는 테스트) 하나에서 허용하는 SQL 실행 예산
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "sql.budget")
+public class SqlBudgetProperties {
+    /** HTTP 요청마다 SQL 을 집계할지 여부 */
+    private boolean enabled = true;
+    /** 요청 하나에서 허용하는 SQL 실행 수 */
+    private int maxStatements = 30;
+    /** 같은 모양의 SQL 이 이 횟수 이상 반복되면 N+1 로 판단 */
+    private int repeatedThreshold = 5;
+    /** true: 예산 초과시 예외, false: 경고 로그만 */
+    private boolean failOnViolation = false;
+}
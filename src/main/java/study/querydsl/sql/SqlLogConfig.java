@@ -0,0 +1,21 @@
+package study.querydsl.sql;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class SqlLogConfig {
+
+    /**
+     * p6spy 는 DataSource 가 처음 사용될 때(Hibernate 초기화 중) appender 를 만들기 때문에,
+     * 빈 생성 전에 실행되는 BeanFactoryPostProcessor 로 sql.log 설정을 먼저 전달한다.
+     */
+    @Bean
+    static BeanFactoryPostProcessor asyncSampledSqlLoggerSettings(Environment environment) {
+        return beanFactory -> AsyncSampledSqlLogger.configure(
+                Binder.get(environment).bindOrCreate("sql.log", SqlLogProperties.class));
+    }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@link AsyncSampledSqlLogger} 설정
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "sql.log")
+public class SqlLogProperties {
+    /** 이 시간 이상 걸린 SQL 은 항상 전체를 기록 */
+    private Duration slowThreshold = Duration.ofMillis(200);
+    /** 느리지 않은 SQL 중 기록할 비율 (0 ~ 1) */
+    private double sampleRate = 0.01;
+    /** 기록 대기 링 버퍼 크기 */
+    private int bufferSize = 8192;
+}
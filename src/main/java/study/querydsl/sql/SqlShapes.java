@@ -0,0 +1,44 @@
+package study.querydsl.sql;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 문을 "모양(shape)"으로 정규화한다.
+ * 주석/공백/리터럴 값/IN 목록 길이 차이를 없애서 값만 다른 같은 쿼리를 하나로 묶는다.
+ */
+public final class SqlShapes {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LEADING_COMMENT = Pattern.compile("^\\s*/\\*(.*?)\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        return shape.trim().toLowerCase();
+    }
+
+    /**
+     * SQL 앞의 주석 (hibernate.use_sql_comments 가 켜져 있으면 실행한 JPQL), 없으면 null
+     */
+    public static String leadingComment(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        Matcher matcher = LEADING_COMMENT.matcher(sql);
+        return matcher.find() ? WHITESPACE.matcher(matcher.group(1)).replaceAll(" ").trim() : null;
+    }
+}
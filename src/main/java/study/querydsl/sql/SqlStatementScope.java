@@ -0,0 +1,78 @@
+package study.querydsl.sql;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * 스레드(요청/테스트) 단위로 실행된 SQL 문을 센다.
+ * 예)
+ *   try (SqlStatementScope scope = SqlStatementScope.begin("GET /members")) { ... }
+ * 중첩해서 열 수 있으며, 안쪽 범위에서 실행된 SQL 은 바깥 범위에도 집계된다.
+ */
+public class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> current = new ThreadLocal<>();
+
+    @Getter
+    private final String name;
+    private final SqlStatementScope parent;
+    private final Map<String, Integer> shapeCounts = new LinkedHashMap<>();
+    @Getter
+    private int totalCount;
+
+    private SqlStatementScope(String name, SqlStatementScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    public static SqlStatementScope begin(String name) {
+        SqlStatementScope scope = new SqlStatementScope(name, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    public static Optional<SqlStatementScope> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /** 현재 스레드에 열린 범위가 있으면 SQL 실행을 기록한다. */
+    static void record(String sql) {
+        SqlStatementScope scope = current.get();
+        if (scope == null) {
+            return;
+        }
+        String shape = SqlShapes.normalize(sql);
+        for (; scope != null; scope = scope.parent) {
+            scope.totalCount++;
+            scope.shapeCounts.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    /** 모양별 실행 횟수 (실행 순서) */
+    public Map<String, Integer> getShapeCounts() {
+        return Collections.unmodifiableMap(shapeCounts);
+    }
+
+    /** threshold 번 이상 반복된 모양 */
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapeCounts.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        if (current.get() == this) {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트로 실행된 SQL 을 현재 {@link SqlStatementScope} 에 기록한다.
+ * (p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동으로 등록한다)
+ */
+@Component
+public class StatementCountingListener extends JdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        SqlStatementScope.record(statementInformation.getSql());
+    }
+}
@@ -0,0 +1,22 @@
+package study.querydsl.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.snapshot.MemberSnapshotRefreshListener;
+import study.querydsl.stats.TeamAgeStatisticsListener;
+
+/**
+ * spring.main.lazy-initialization=true (fast-startup 프로필) 에서도 기동할 때 만들어야 하는 빈
+ * - Hibernate 이벤트 리스너: @PostConstruct 에서 등록하므로, 지연 생성되면 그 전의 커밋이 집계/스냅샷에 반영되지 않는다.
+ * 그 외 빈은 첫 사용 시점에 만들어도 결과가 같다. (ApplicationReadyEvent 리스너는 이벤트 발행 시 생성된다)
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerHibernateListeners() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TeamAgeStatisticsListener.class, MemberSnapshotRefreshListener.class);
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기동 시간 기록: JVM 시작부터 ApplicationReady 까지, 그리고 첫 요청 응답까지(time-to-first-request)
+ * app.startup.training-run=true 이면 기동 후 대표 요청을 스스로 보내고 종료한다. (AppCDS 아카이브 생성용, ./gradlew cdsArchive)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimeLogger extends OncePerRequestFilter {
+
+    private static final String[] TRAINING_REQUESTS = {"/dodorian", "/members?page=0&size=1",
+            "/members/search?teamName=team0&size=1", "/actuator/health"};
+
+    private final AtomicBoolean firstRequest = new AtomicBoolean(true);
+    private final boolean trainingRun;
+
+    public StartupTimeLogger(@Value("${app.startup.training-run:false}") boolean trainingRun) {
+        this.trainingRun = trainingRun; // AOT 빌드에서도 실행 시점에 판단하도록 조건부 빈 대신 값으로 받는다
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready(ApplicationReadyEvent event) {
+        log.info("application ready {}ms after JVM start", sinceJvmStart());
+        if (trainingRun && event.getApplicationContext() instanceof WebServerApplicationContext web) {
+            int port = web.getWebServer().getPort();
+            Thread thread = new Thread(() -> train(event.getApplicationContext(), port), "startup-training");
+            thread.start();
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!firstRequest.get()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (firstRequest.compareAndSet(true, false)) {
+                log.info("first request {} served {}ms after JVM start", request.getRequestURI(), sinceJvmStart());
+            }
+        }
+    }
+
+    private void train(ConfigurableApplicationContext context, int port) {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (String path : TRAINING_REQUESTS) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(30)).GET().build();
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                log.warn("training request failed: {}", path, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("training run finished, exiting");
+        System.exit(SpringApplication.exit(context)); // 정상 종료해야 JVM 이 CDS 아카이브를 기록한다
+    }
+
+    private static long sinceJvmStart() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+}
@@ -0,0 +1,56 @@
+package study.querydsl.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 나이별 인원수를 유지하면서 증감(add/remove)을 반영한다.
+ * 삭제가 있어도 min/max 를 다시 계산할 수 있도록 나이별 인원수(TreeMap)를 갖고,
+ * 변경될 때마다 스냅샷을 새로 만들어 두어 조회는 O(1) 이다.
+ */
+class AgeAccumulator {
+
+    private final TreeMap<Integer, Long> countByAge = new TreeMap<>();
+    private long count;
+    private long sum;
+    private volatile AgeStatistics snapshot = AgeStatistics.EMPTY;
+
+    void add(int age, long members) {
+        countByAge.merge(age, members, Long::sum);
+        count += members;
+        sum += (long) age * members;
+        refresh();
+    }
+
+    /** @return 집계에 없는 나이면 아무것도 바꾸지 않고 false (집계가 DB 와 어긋났다) */
+    boolean remove(int age) {
+        Long members = countByAge.get(age);
+        if (members == null) {
+            return false;
+        }
+        if (members == 1) {
+            countByAge.remove(age);
+        } else {
+            countByAge.put(age, members - 1);
+        }
+        count--;
+        sum -= age;
+        refresh();
+        return true;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    AgeStatistics snapshot() {
+        return snapshot;
+    }
+
+    private void refresh() {
+        Map.Entry<Integer, Long> min = countByAge.firstEntry();
+        Map.Entry<Integer, Long> max = countByAge.lastEntry();
+        snapshot = count == 0 ? AgeStatistics.EMPTY
+                : new AgeStatistics(count, sum, min.getKey(), max.getKey());
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.stats;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * member.age 집계값 (count, sum, avg, min, max) 스냅샷
+ * 회원이 없으면 count = 0 이고 avg/min/max 는 null (SQL 집계함수와 동일)
+ */
+@Getter
+@ToString
+public class AgeStatistics {
+
+    public static final AgeStatistics EMPTY = new AgeStatistics(0, 0, null, null);
+
+    private final long count;
+    private final long sum;
+    private final Integer min;
+    private final Integer max;
+
+    public AgeStatistics(long count, long sum, Integer min, Integer max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public Double getAvg() {
+        return count == 0 ? null : (double) sum / count;
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.stats;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 트랜잭션에서 flush 된 Member 나이 증감
+ * 커밋 직전에 재집계를 막고({@link TeamAgeStatisticsRegistry#beforeCommit()}),
+ * 커밋된 뒤 증감을 반영하면서 다시 허용한다. 그래서 재집계 스냅샷과 증감이 같은 커밋을 두 번 세지 않는다.
+ */
+class PendingAgeChanges implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+    record Change(Long teamId, int age, boolean added) {
+    }
+
+    private final TeamAgeStatisticsRegistry registry;
+    private final Runnable onCompletion;
+    private final List<Change> changes = new ArrayList<>();
+    private boolean unknown;
+    private boolean locked;
+
+    PendingAgeChanges(TeamAgeStatisticsRegistry registry, Runnable onCompletion) {
+        this.registry = registry;
+        this.onCompletion = onCompletion;
+    }
+
+    void added(Long teamId, int age) {
+        changes.add(new Change(teamId, age, true));
+    }
+
+    void removed(Long teamId, int age) {
+        changes.add(new Change(teamId, age, false));
+    }
+
+    /** 이전 상태를 알 수 없는 변경, 커밋되면 다시 집계한다 */
+    void unknown() {
+        unknown = true;
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        registry.beforeCommit();
+        locked = true;
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+        onCompletion.run();
+        if (locked) { // 커밋 전에 실패했으면 잠그지 않았다
+            locked = false;
+            registry.afterCommit(success ? changes : List.of(), success && unknown);
+        }
+    }
+}
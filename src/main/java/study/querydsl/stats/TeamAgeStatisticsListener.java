@@ -0,0 +1,101 @@
+package study.querydsl.stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member 저장/수정/삭제를 flush 할 때 트랜잭션별로 증감을 모아 두고, "커밋된 뒤" 팀 나이 집계에 반영한다.
+ * (롤백된 변경은 반영되지 않는다, {@link PendingAgeChanges})
+ * 수정은 이전 상태(oldState)의 팀/나이를 빼고 새 상태를 더한다. (나이 변경, Member.changeTeam)
+ */
+@Component
+public class TeamAgeStatisticsListener implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final TeamAgeStatisticsRegistry registry;
+    private final Map<SharedSessionContractImplementor, PendingAgeChanges> pending = new ConcurrentHashMap<>();
+
+    public TeamAgeStatisticsListener(EntityManagerFactory emf, TeamAgeStatisticsRegistry registry) {
+        this.emf = emf;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry listenerRegistry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        listenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        listenerRegistry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changes(event.getSession()).added(teamId(event.getPersister(), event.getState()),
+                    age(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        PendingAgeChanges changes = changes(event.getSession());
+        if (event.getOldState() == null) { // 이전 상태를 알 수 없으면 커밋 후 다시 집계
+            changes.unknown();
+            return;
+        }
+        changes.removed(teamId(persister, event.getOldState()), age(persister, event.getOldState()));
+        changes.added(teamId(persister, event.getState()), age(persister, event.getState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changes(event.getSession()).removed(teamId(event.getPersister(), event.getDeletedState()),
+                    age(event.getPersister(), event.getDeletedState()));
+        }
+    }
+
+    /** 세션(트랜잭션)의 증감 목록, 처음 만들 때 커밋 전/후 처리를 등록한다 */
+    private PendingAgeChanges changes(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            PendingAgeChanges changes = new PendingAgeChanges(registry, () -> pending.remove(key));
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) changes);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) changes);
+            return changes;
+        });
+    }
+
+    private static int age(EntityPersister persister, Object[] state) {
+        return (Integer) state[persister.getEntityMetamodel().getPropertyIndex("age")];
+    }
+
+    private static Long teamId(EntityPersister persister, Object[] state) {
+        Team team = (Team) state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        return team == null ? null : team.getId(); // 프록시여도 id 조회는 초기화하지 않는다
+    }
+}
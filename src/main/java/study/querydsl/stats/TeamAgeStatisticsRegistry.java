@@ -0,0 +1,152 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 팀별/전체 member.age 집계 (group() / aggregation() 테스트의 GROUP BY 결과를 메모리에 유지)
+ * - 회원 저장/삭제/나이 변경/팀 변경이 커밋되면 {@link TeamAgeStatisticsListener} 가 증감을 반영한다.
+ * - 재집계와 증감은 commitLock 으로 순서를 정해, 같은 커밋이 스냅샷과 증감에 두 번 반영되지 않는다.
+ * - 벌크 연산(JPQL update/delete)처럼 엔티티 이벤트가 없는 변경 후에는 {@link #rebuild()} 를 호출한다.
+ * - 조회는 미리 계산된 스냅샷을 돌려주므로 O(1) 이다.
+ */
+@Slf4j
+@Component
+public class TeamAgeStatisticsRegistry {
+
+    private final EntityManagerFactory emf;
+    private final Map<Long, AgeAccumulator> teams = new ConcurrentHashMap<>();
+    private volatile AgeAccumulator total = new AgeAccumulator();
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    public TeamAgeStatisticsRegistry(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /** 팀의 회원 나이 집계, 회원이 없는 팀은 EMPTY */
+    public AgeStatistics getTeam(Long teamId) {
+        AgeAccumulator accumulator = teams.get(teamId);
+        return accumulator == null ? AgeStatistics.EMPTY : accumulator.snapshot();
+    }
+
+    /** 전체 회원(팀 없는 회원 포함) 나이 집계 */
+    public AgeStatistics getTotal() {
+        return total.snapshot();
+    }
+
+    /** Member 변경 트랜잭션이 커밋하기 직전, 커밋 결과를 반영({@link #afterCommit})할 때까지 재집계가 시작되지 않는다 */
+    void beforeCommit() {
+        commitLock.readLock().lock();
+    }
+
+    /**
+     * 커밋된 증감을 반영하고 재집계를 다시 허용한다.
+     * 집계와 맞지 않는 증감(집계에 없는 나이 삭제)이 있거나 rebuildRequired 이면 다시 집계한다.
+     */
+    void afterCommit(List<PendingAgeChanges.Change> changes, boolean rebuildRequired) {
+        boolean consistent;
+        try {
+            consistent = apply(changes);
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        if (!consistent) {
+            log.warn("team age statistics out of sync with committed changes, rebuilding");
+        }
+        if (!consistent || rebuildRequired) {
+            rebuild();
+        }
+    }
+
+    private synchronized boolean apply(List<PendingAgeChanges.Change> changes) {
+        boolean consistent = true;
+        for (PendingAgeChanges.Change change : changes) {
+            if (change.added()) {
+                added(change.teamId(), change.age());
+            } else {
+                consistent &= removed(change.teamId(), change.age());
+            }
+        }
+        return consistent;
+    }
+
+    private void added(Long teamId, int age) {
+        total.add(age, 1);
+        if (teamId != null) {
+            teams.computeIfAbsent(teamId, id -> new AgeAccumulator()).add(age, 1);
+        }
+    }
+
+    private boolean removed(Long teamId, int age) {
+        boolean consistent = total.remove(age);
+        if (teamId != null) {
+            AgeAccumulator accumulator = teams.get(teamId);
+            if (accumulator == null || !accumulator.remove(age)) {
+                return false;
+            }
+            if (accumulator.isEmpty()) {
+                teams.remove(teamId);
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * DB 에서 다시 집계한다.
+     * 집계 쿼리를 실행하는 동안에는 Member 변경 트랜잭션이 커밋 직전에 기다리므로,
+     * 그 전에 커밋된 변경은 증감까지 반영된 뒤 스냅샷에 포함되고, 그 뒤의 커밋은 새 집계에 증감으로만 반영된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (commitLock.getReadHoldCount() > 0) { // 읽기 잠금은 쓰기 잠금으로 올릴 수 없다
+            throw new IllegalStateException("Member 변경을 커밋하는 도중에는 다시 집계할 수 없습니다");
+        }
+        commitLock.writeLock().lock();
+        try {
+            rebuildSnapshot();
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private synchronized void rebuildSnapshot() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            Map<Long, AgeAccumulator> rebuilt = new HashMap<>();
+            AgeAccumulator rebuiltTotal = new AgeAccumulator();
+            for (Tuple row : new JPAQueryFactory(em)
+                    .select(member.team.id, member.age, member.count())
+                    .from(member)
+                    .groupBy(member.team.id, member.age)
+                    .fetch()) {
+                Long teamId = row.get(member.team.id);
+                int age = row.get(member.age);
+                long members = row.get(member.count());
+                rebuiltTotal.add(age, members);
+                if (teamId != null) {
+                    rebuilt.computeIfAbsent(teamId, id -> new AgeAccumulator()).add(age, members);
+                }
+            }
+            teams.clear();
+            teams.putAll(rebuilt);
+            total = rebuiltTotal;
+            log.debug("team age statistics rebuilt: {} teams, total={}", rebuilt.size(), total.snapshot());
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package study.querydsl.support;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.FactoryExpressionUtils;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.jpa.JPAProvider;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NonUniqueResultException;
+import jakarta.persistence.Query;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한번 직렬화한 JPQL 을 재사용하는 쿼리
+ * - 쿼리 모양(shape)은 Param 자리표시자로 만들고, 실행할 때는 값만 바인딩한다.
+ * - 같은 JPQL 문자열로 실행하므로 Hibernate 의 쿼리 플랜 캐시도 그대로 적중한다.
+ * - 상수(리터럴) 값이 있는 쿼리는 만들 수 없다. ({@link IllegalArgumentException})
+ * 생성은 {@link PreparedQueryCache#prepare} 로 한다.
+ */
+public class PreparedQuery<T> {
+
+    private final EntityManager em;
+    @Getter
+    private final String jpql;
+    private final List<Object> constants;
+    private final FactoryExpression<?> projection;
+    private final QueryModifiers modifiers;
+
+    PreparedQuery(EntityManager em, QueryMetadata metadata) {
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(metadata, false, null);
+        this.em = em;
+        this.jpql = serializer.toString();
+        this.constants = Collections.unmodifiableList(new ArrayList<>(serializer.getConstants()));
+        for (Object constant : constants) {
+            // 상수는 처음 만든 값으로 JPQL 과 함께 고정되어 이후 호출에도 그대로 쓰인다
+            if (!(constant instanceof ParamExpression<?>)) {
+                throw new IllegalArgumentException("값은 상수가 아니라 Param 으로 넘겨야 합니다: " + constant + " (" + jpql + ")");
+            }
+        }
+        Expression<?> select = metadata.getProjection();
+        this.projection = select instanceof FactoryExpression<?> factory ? FactoryExpressionUtils.wrap(factory) : null;
+        this.modifiers = metadata.getModifiers();
+    }
+
+    public <P> Binding with(ParamExpression<P> param, P value) {
+        return new Binding().with(param, value);
+    }
+
+    /** 자리표시자가 없는 쿼리 실행 */
+    public List<T> fetch() {
+        return new Binding().fetch();
+    }
+
+    public class Binding {
+        private final Map<ParamExpression<?>, Object> params = new HashMap<>();
+
+        private Binding() {
+        }
+
+        public <P> Binding with(ParamExpression<P> param, P value) {
+            params.put(param, value);
+            return this;
+        }
+
+        public List<T> fetch() {
+            return transform(createQuery().getResultList());
+        }
+
+        public T fetchOne() {
+            List<T> results = transform(createQuery().setMaxResults(2).getResultList());
+            if (results.size() > 1) {
+                throw new NonUniqueResultException("결과가 둘 이상입니다: " + jpql);
+            }
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        private Query createQuery() {
+            Query query = em.createQuery(jpql);
+            JPAUtil.setConstants(query, constants, params); // 바인딩 안된 Param 이 있으면 ParamNotSetException
+            if (modifiers.getLimitAsInteger() != null) {
+                query.setMaxResults(modifiers.getLimitAsInteger());
+            }
+            if (modifiers.getOffsetAsInteger() != null) {
+                query.setFirstResult(modifiers.getOffsetAsInteger());
+            }
+            return query;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> transform(List<?> rows) {
+        if (projection == null) {
+            return (List<T>) rows;
+        }
+        List<T> results = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] args = row instanceof Object[] array ? array : new Object[]{row};
+            results.add((T) projection.newInstance(args));
+        }
+        return results;
+    }
+}
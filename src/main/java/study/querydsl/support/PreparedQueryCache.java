@@ -0,0 +1,51 @@
+package study.querydsl.support;
+
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 쿼리 모양(shape) 키별로 직렬화된 JPQL 을 보관한다.
+ * 예)
+ *   Param&lt;String&gt; username = new Param&lt;&gt;(String.class, "username");
+ *   cache.prepare("member.byUsername", qf -&gt; qf.selectFrom(member).where(member.username.eq(username)))
+ *        .with(username, "member1")
+ *        .fetchOne();
+ */
+@Component
+public class PreparedQueryCache {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final ConcurrentMap<String, PreparedQuery<?>> cache = new ConcurrentHashMap<>();
+
+    public PreparedQueryCache(EntityManager em, JPAQueryFactory queryFactory) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * key 로 캐시된 쿼리를 돌려주고, 없으면 shape 로 쿼리를 한번만 만들어 직렬화한다.
+     * 같은 key 는 항상 같은 모양(같은 Param)의 쿼리여야 한다. 값은 상수가 아니라 Param 으로 넘겨야 한다.
+     *
+     * @throws IllegalArgumentException 쿼리에 Param 이 아닌 상수가 있을 때 (캐시하지 않는다)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> PreparedQuery<T> prepare(String key, Function<JPAQueryFactory, ? extends JPQLQuery<T>> shape) {
+        return (PreparedQuery<T>) cache.computeIfAbsent(key,
+                k -> new PreparedQuery<T>(em, shape.apply(queryFactory).getMetadata()));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
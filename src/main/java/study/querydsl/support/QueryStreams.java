@@ -0,0 +1,41 @@
+package study.querydsl.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * fetch() 대신 커서 방식으로 결과를 한 건씩 읽는다.
+ * - JDBC fetch size 만큼씩 DB 에서 가져오고
+ * - chunkSize 건마다 영속성 컨텍스트를 비워서(clear) 엔티티가 쌓이지 않게 한다.
+ * 주의: 호출한 트랜잭션의 영속성 컨텍스트 전체가 비워지므로, 조회 전용 트랜잭션에서 사용한다.
+ */
+public final class QueryStreams {
+
+    private QueryStreams() {
+    }
+
+    public static <T> long forEach(JPAQuery<T> query, EntityManager em, int chunkSize, Consumer<? super T> action) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다: " + chunkSize);
+        }
+        ReadOnlyQueries.readOnly(query) // 스냅샷(dirty checking) 생략
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize);
+        long count = 0;
+        try (Stream<T> stream = query.stream()) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % chunkSize == 0) {
+                    em.clear();
+                }
+            }
+        }
+        em.clear();
+        return count;
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.FlushModeType;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * 조회 전용 쿼리 힌트
+ * - 결과 엔티티를 읽기 전용으로 로딩한다: 스냅샷을 만들지 않고, 변경해도 dirty checking/update 대상이 아니다.
+ * - 쿼리 실행 전 자동 flush 를 하지 않는다. (같은 트랜잭션의 flush 되지 않은 변경은 결과에 반영되지 않을 수 있다)
+ * 트랜잭션 전체를 조회 전용으로 하려면 @Transactional(readOnly = true) 를 사용한다.
+ * (Hibernate 세션 기본값이 읽기 전용 + FlushMode.MANUAL 이 되고, 읽기 전용 DataSource 가 설정되어 있으면 그쪽으로 라우팅된다)
+ */
+public final class ReadOnlyQueries {
+
+    private ReadOnlyQueries() {
+    }
+
+    public static <T> JPAQuery<T> readOnly(JPAQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFlushMode(FlushModeType.COMMIT);
+    }
+}
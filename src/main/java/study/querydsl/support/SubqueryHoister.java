@@ -0,0 +1,334 @@
+package study.querydsl.support;
+
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAProvider;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스칼라 서브쿼리 호이스팅
+ * - 바깥 쿼리를 참조하지 않는 집계 서브쿼리(select max(age) from Member ...)는 한 번만 실행하고 결과 값으로 바꾼다.
+ *   where 절: 값은 파라미터로 바인딩한다. 숫자는 값의 타입으로 cast 해서 Integer 컬럼 vs Double 값 타입 불일치를 막는다.
+ *   (리터럴로 넣으면 값마다 JPQL 이 달라져 쿼리 플랜 캐시를 채운다)
+ *   select 절: 서브쿼리를 select 에서 빼고, 결과 행을 만들 때 값을 끼워 넣는다.
+ * - select 절의 상관 서브쿼리가 "내부.컬럼 = 바깥.컬럼" 하나로 연결된 집계라면, 그룹별 집계를 한 번 실행해서
+ *   바깥 행마다 맵에서 찾는다. (행마다 서브쿼리를 실행하는 O(n*m) 대신 O(n+m), JPQL 은 FROM 절 파생 테이블을 쓸 수 없으므로 해시 조인)
+ * - 그 외 서브쿼리는 그대로 둔다. 서브쿼리를 먼저 실행하므로 바깥 쿼리와 같은 시점의 스냅샷은 아니다.
+ */
+public final class SubqueryHoister {
+
+    private SubqueryHoister() {
+    }
+
+    public static <T> JPAQuery<T> hoist(JPAQuery<T> query, EntityManager em) {
+        JPQLTemplates templates = JPAProvider.getTemplates(em);
+        JPAQuery<T> hoisted = query.clone(em, templates); // 힌트, 잠금 모드, flush 모드도 그대로 가져간다
+        QueryMetadata metadata = hoisted.getMetadata();
+
+        Predicate where = metadata.getWhere();
+        if (where != null) {
+            metadata.clearWhere();
+            metadata.addWhere((Predicate) where.accept(new Hoisting(em, templates), null));
+        }
+        Expression<?> projection = metadata.getProjection();
+        if (projection instanceof FactoryExpression<?> factory && metadata.getGroupBy().isEmpty() && !metadata.isDistinct()) {
+            metadata.setProjection(hoistProjection(factory, declaredAliases(metadata), em, templates));
+        }
+        return hoisted;
+    }
+
+    private static <T> FactoryExpression<T> hoistProjection(FactoryExpression<T> factory, Set<Path<?>> outerAliases,
+                                                            EntityManager em, JPQLTemplates templates) {
+        List<Expression<?>> selected = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        boolean hoisted = false;
+        for (Expression<?> arg : factory.getArgs()) {
+            if (arg instanceof SubQueryExpression<?> subQuery && isScalar(subQuery)) {
+                if (usedRoots(subQuery).isEmpty()) {
+                    Object value = evaluate(subQuery, em, templates);
+                    slots.add(row -> value);
+                    hoisted = true;
+                    continue;
+                }
+                Slot grouped = decorrelate(subQuery, outerAliases, selected, em, templates);
+                if (grouped != null) {
+                    slots.add(grouped);
+                    hoisted = true;
+                    continue;
+                }
+            }
+            int index = selected.size();
+            selected.add(arg);
+            slots.add(row -> row[index]);
+        }
+        if (!hoisted || selected.isEmpty()) {
+            return factory;
+        }
+        if (selected.size() == 1) { // 한 컬럼만 조회하면 null 값이 행 배열이 아니라 null 행으로 온다
+            selected.add(selected.get(0));
+        }
+        return new HoistedProjection<>(factory, selected, slots);
+    }
+
+    /**
+     * select (select agg(s.x) from S s where s.key = outer.key and ...) from Outer outer
+     * -> select s.key, agg(s.x) from S s where ... group by s.key 를 한 번 실행하고, outer.key 로 찾는다.
+     */
+    private static Slot decorrelate(SubQueryExpression<?> subQuery, Set<Path<?>> outerAliases,
+                                    List<Expression<?>> selected, EntityManager em, JPQLTemplates templates) {
+        QueryMetadata metadata = subQuery.getMetadata();
+        if (metadata.getJoins().size() != 1 || metadata.getWhere() == null
+                || !(metadata.getJoins().get(0).getTarget() instanceof EntityPath<?> source)) {
+            return null;
+        }
+        Set<Path<?>> local = Set.of(source);
+        Path<?> innerKey = null;
+        Path<?> outerKey = null;
+        List<Predicate> rest = new ArrayList<>();
+        for (Expression<?> conjunct : conjuncts(metadata.getWhere())) {
+            Set<Path<?>> roots = usedRoots(conjunct);
+            if (local.containsAll(roots)) {
+                rest.add((Predicate) conjunct);
+                continue;
+            }
+            if (innerKey != null || !(conjunct instanceof Operation<?> eq) || eq.getOperator() != Ops.EQ
+                    || !(eq.getArg(0) instanceof Path<?> left) || !(eq.getArg(1) instanceof Path<?> right)) {
+                return null;
+            }
+            if (local.contains(left.getRoot()) && outerAliases.contains(right.getRoot())) {
+                innerKey = left;
+                outerKey = right;
+            } else if (local.contains(right.getRoot()) && outerAliases.contains(left.getRoot())) {
+                innerKey = right;
+                outerKey = left;
+            } else {
+                return null;
+            }
+        }
+        Expression<?> aggregate = metadata.getProjection();
+        if (innerKey == null || outerKey instanceof EntityPath<?> // member.team 을 select 하면 내부 조인이 되어 행이 빠진다
+                || !local.containsAll(usedRoots(aggregate))) {
+            return null;
+        }
+
+        Map<Object, Object> values = new HashMap<>();
+        for (Tuple row : new JPAQuery<>(em, templates)
+                .select(innerKey, aggregate)
+                .from(source)
+                .where(rest.toArray(new Predicate[0]))
+                .groupBy(innerKey)
+                .fetch()) {
+            Object key = row.get(0, Object.class);
+            if (key != null) { // 내부.컬럼 = null 은 참이 되지 않으므로 null 그룹은 버린다
+                values.put(key, row.get(1, Object.class));
+            }
+        }
+        Object missing = isCount(aggregate) ? 0L : null; // 일치하는 행이 없으면 count 는 0, 나머지 집계는 null
+        int index = selected.size();
+        selected.add(outerKey);
+        return row -> values.getOrDefault(row[index], missing);
+    }
+
+    private static boolean isScalar(SubQueryExpression<?> subQuery) {
+        QueryMetadata metadata = subQuery.getMetadata();
+        return metadata.getGroupBy().isEmpty()
+                && metadata.getProjection() instanceof Operation<?> operation
+                && operation.getOperator() instanceof Ops.AggOps;
+    }
+
+    private static boolean isCount(Expression<?> aggregate) {
+        Operator operator = ((Operation<?>) aggregate).getOperator();
+        return operator == Ops.AggOps.COUNT_AGG || operator == Ops.AggOps.COUNT_DISTINCT_AGG
+                || operator == Ops.AggOps.COUNT_ALL_AGG;
+    }
+
+    private static Object evaluate(SubQueryExpression<?> subQuery, EntityManager em, JPQLTemplates templates) {
+        return new JPAQuery<>(em, templates, subQuery.getMetadata().clone()).fetchOne();
+    }
+
+    private static List<Expression<?>> conjuncts(Expression<?> predicate) {
+        List<Expression<?>> result = new ArrayList<>();
+        if (predicate instanceof Operation<?> operation && operation.getOperator() == Ops.AND) {
+            for (Expression<?> arg : operation.getArgs()) {
+                result.addAll(conjuncts(arg));
+            }
+        } else {
+            result.add(predicate);
+        }
+        return result;
+    }
+
+    private static Set<Path<?>> declaredAliases(QueryMetadata metadata) {
+        Set<Path<?>> aliases = new HashSet<>();
+        for (JoinExpression join : metadata.getJoins()) {
+            Expression<?> target = join.getTarget();
+            if (target instanceof Operation<?> alias && alias.getOperator() == Ops.ALIAS) {
+                aliases.add((Path<?>) alias.getArg(1));
+            } else if (target instanceof Path<?> path) {
+                aliases.add(path.getRoot());
+            }
+        }
+        return aliases;
+    }
+
+    /** 식이 참조하는 별칭 중 식 안에서 선언되지 않은 것 (비어 있으면 바깥 쿼리와 무관하다) */
+    static Set<Path<?>> usedRoots(Expression<?> expression) {
+        Set<Path<?>> roots = new HashSet<>();
+        expression.accept(RootCollector.INSTANCE, roots);
+        return roots;
+    }
+
+    /** where 절의 비상관 스칼라 서브쿼리를 값으로 바꾼다 */
+    private static final class Hoisting extends ReplaceVisitor<Void> {
+        private final EntityManager em;
+        private final JPQLTemplates templates;
+
+        Hoisting(EntityManager em, JPQLTemplates templates) {
+            this.em = em;
+            this.templates = templates;
+        }
+
+        @Override
+        public Expression<?> visit(Operation<?> expr, Void context) {
+            if (expr.getOperator() == Ops.EXISTS) { // exists(집계) 는 항상 참이므로 값으로 바꾸면 의미가 달라진다
+                return expr;
+            }
+            return super.visit(expr, context);
+        }
+
+        @Override
+        public Expression<?> visit(SubQueryExpression<?> expr, Void context) {
+            if (!isScalar(expr) || !usedRoots(expr).isEmpty()) {
+                return expr;
+            }
+            Object value = evaluate(expr, em, templates);
+            if (value == null) {
+                return Expressions.nullExpression(expr.getType());
+            }
+            if (value instanceof Number) { // 파라미터 타입을 비교 대상 컬럼에서 추론하지 않도록 값의 타입으로 cast
+                return Expressions.template(expr.getType(),
+                        "cast({0} as " + value.getClass().getSimpleName() + ")", Expressions.constant(value));
+            }
+            return Expressions.constant(value);
+        }
+    }
+
+    private static final class RootCollector implements Visitor<Void, Set<Path<?>>> {
+        static final RootCollector INSTANCE = new RootCollector();
+
+        @Override
+        public Void visit(Constant<?> expr, Set<Path<?>> roots) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Set<Path<?>> roots) {
+            expr.getArgs().forEach(arg -> arg.accept(this, roots));
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Set<Path<?>> roots) {
+            expr.getArgs().forEach(arg -> arg.accept(this, roots));
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Set<Path<?>> roots) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Set<Path<?>> roots) {
+            roots.add(expr.getRoot());
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Set<Path<?>> roots) {
+            QueryMetadata metadata = expr.getMetadata();
+            Set<Path<?>> inner = new HashSet<>();
+            for (JoinExpression join : metadata.getJoins()) {
+                join.getTarget().accept(this, inner);
+                if (join.getCondition() != null) {
+                    join.getCondition().accept(this, inner);
+                }
+            }
+            if (metadata.getWhere() != null) {
+                metadata.getWhere().accept(this, inner);
+            }
+            if (metadata.getHaving() != null) {
+                metadata.getHaving().accept(this, inner);
+            }
+            metadata.getGroupBy().forEach(group -> group.accept(this, inner));
+            metadata.getOrderBy().forEach(order -> order.getTarget().accept(this, inner));
+            if (metadata.getProjection() != null) {
+                metadata.getProjection().accept(this, inner);
+            }
+            inner.removeAll(declaredAliases(metadata));
+            roots.addAll(inner);
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Set<Path<?>> roots) {
+            for (Object arg : expr.getArgs()) {
+                if (arg instanceof Expression<?> expression) {
+                    expression.accept(this, roots);
+                }
+            }
+            return null;
+        }
+    }
+
+    /** 결과 행의 각 위치 값을 만든다 (조회한 컬럼, 미리 계산한 값, 그룹 집계 조회) */
+    private interface Slot {
+        Object value(Object[] row);
+    }
+
+    /** 호이스팅한 서브쿼리를 뺀 컬럼만 조회하고, 원래 projection 으로 결과를 만든다 */
+    private static final class HoistedProjection<T> extends FactoryExpressionBase<T> {
+        private final FactoryExpression<T> original;
+        private final List<Expression<?>> args;
+        private final List<Slot> slots;
+
+        HoistedProjection(FactoryExpression<T> original, List<Expression<?>> args, List<Slot> slots) {
+            super(original.getType());
+            this.original = original;
+            this.args = List.copyOf(args);
+            this.slots = List.copyOf(slots);
+        }
+
+        @Override
+        public List<Expression<?>> getArgs() {
+            return args;
+        }
+
+        @Override
+        public T newInstance(Object... row) {
+            Object[] values = new Object[slots.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = slots.get(i).value(row);
+            }
+            return original.newInstance(values);
+        }
+
+        @Override
+        public <R, C> R accept(Visitor<R, C> v, C context) {
+            return v.visit(this, context);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 스레드(JDK 21+) 지원
+ * 컴파일 타겟이 17 이므로 리플렉션으로 호출하고, 지원하지 않는 JVM 에서는 empty 를 돌려준다.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return factoryMethod().isPresent();
+    }
+
+    /** 작업마다 가상 스레드를 하나씩 만드는 ExecutorService */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        return factoryMethod().map(method -> {
+            try {
+                return (ExecutorService) method.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("가상 스레드 Executor 생성 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 가상 스레드를 지원하면 작업마다 가상 스레드, 아니면 platformThreads 개의 고정 스레드 풀
+     */
+    public static ExecutorService newExecutor(String threadNamePrefix, int platformThreads) {
+        return newVirtualThreadPerTaskExecutor().orElseGet(() -> {
+            AtomicInteger sequence = new AtomicInteger();
+            return Executors.newFixedThreadPool(platformThreads, runnable -> {
+                Thread thread = new Thread(runnable, threadNamePrefix + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    private static Optional<Method> factoryMethod() {
+        try {
+            return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package study.querydsl.cache;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.TeamQueryRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 2차 캐시는 커밋/트랜잭션 단위로 채워지므로 TransactionTemplate 으로 나눠 실행하고, 끝나면 데이터를 지운다.
+ * TTL 1초인 ehcache-test.xml 을 사용한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.javax.cache.uri=classpath:ehcache-test.xml")
+@ActiveProfiles("cache-stats")
+class TeamCacheTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    TeamQueryRepository teamQueryRepository;
+    @Autowired
+    TeamCacheStatistics teamCacheStatistics;
+
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        teamId = transactionTemplate.execute(status -> {
+            Team cacheA = new Team("cacheA");
+            em.persist(cacheA);
+            return cacheA.getId();
+        });
+        emf.getCache().evictAll();
+        emf.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        emf.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status ->
+                queryFactory.delete(team).where(team.name.startsWith("cache")).execute());
+    }
+
+    @Test
+    public void entityCacheHitAndMiss() {
+        findTeam();
+        findTeam();
+
+        CacheRegionStats entity = entityStats();
+        assertThat(entity.getMissCount()).isEqualTo(1);
+        assertThat(entity.getPutCount()).isEqualTo(1);
+        assertThat(entity.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void queryCacheHitMissAndInvalidation() {
+        assertThat(findByName("cacheA").getId()).isEqualTo(teamId);
+        assertThat(findByName("cacheA").getId()).isEqualTo(teamId);
+        assertThat(queryStats().getMissCount()).isEqualTo(1);
+        assertThat(queryStats().getHitCount()).isEqualTo(1);
+        assertThat(entityStats().getHitCount()).isEqualTo(1); // 쿼리 캐시는 id 만, 엔티티는 2차 캐시에서
+
+        transactionTemplate.executeWithoutResult(status -> em.find(Team.class, teamId).setName("cacheB"));
+
+        // team 테이블이 변경되어 이전 결과는 사용하지 않는다
+        assertThat(findByName("cacheA")).isNull();
+        assertThat(queryStats().getMissCount()).isEqualTo(2);
+        // Team 2차 캐시는 변경된 값으로 갱신된다 (READ_WRITE)
+        long entityHits = entityStats().getHitCount();
+        assertThat(findTeam().getName()).isEqualTo("cacheB");
+        assertThat(entityStats().getHitCount()).isEqualTo(entityHits + 1);
+    }
+
+    @Test
+    public void expiresAfterTtl() throws InterruptedException {
+        findTeam();
+        findByName("cacheA");
+        CacheRegionStats entity = entityStats();
+        CacheRegionStats query = queryStats();
+        Thread.sleep(1_500);
+
+        findTeam(); // 만료되어 DB 에서 다시 읽는다
+        assertThat(entityStats().getHitCount()).isEqualTo(entity.getHitCount());
+        assertThat(entityStats().getMissCount()).isEqualTo(entity.getMissCount() + 1);
+
+        findByName("cacheA");
+        assertThat(queryStats().getHitCount()).isEqualTo(query.getHitCount());
+        assertThat(queryStats().getMissCount()).isEqualTo(query.getMissCount() + 1);
+    }
+
+    private Team findTeam() {
+        return transactionTemplate.execute(status -> em.find(Team.class, teamId));
+    }
+
+    private Team findByName(String name) {
+        return transactionTemplate.execute(status -> teamQueryRepository.findByName(name));
+    }
+
+    private CacheRegionStats entityStats() {
+        return teamCacheStatistics.getStats().get(0);
+    }
+
+    private CacheRegionStats queryStats() {
+        return teamCacheStatistics.getStats().get(1);
+    }
+}
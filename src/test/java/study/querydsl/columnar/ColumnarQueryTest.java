@@ -0,0 +1,115 @@
+package study.querydsl.columnar;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class ColumnarQueryTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+    }
+
+    @Test
+    public void aggregation() {
+        IntColumn age = new IntColumn(member.age);
+
+        int rows = ColumnarQuery.fetch(queryFactory.from(member).where(member.team.isNotNull()), em, age);
+
+        IntStats stats = age.stats();
+        assertThat(rows).isEqualTo(4);
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.sum()).isEqualTo(100);
+        assertThat(stats.average()).isEqualTo(25);
+        assertThat(stats.max()).isEqualTo(40);
+        assertThat(stats.min()).isEqualTo(10);
+    }
+
+    @Test
+    public void group() {
+        IntColumn age = new IntColumn(member.age);
+        DictionaryColumn teamName = new DictionaryColumn(team.name);
+
+        ColumnarQuery.fetch(queryFactory.from(member).join(member.team, team), em, teamName, age);
+
+        GroupedIntStats byTeam = age.groupBy(teamName);
+        assertThat(teamName.cardinality()).isEqualTo(2);
+        assertThat(byTeam.groups()).isEqualTo(2);
+        assertThat(byTeam.get("teamA").average()).isEqualTo(15);
+        assertThat(byTeam.get("teamB").average()).isEqualTo(35);
+    }
+
+    @Test
+    public void leftJoinNullKeyGroup() {
+        IntColumn age = new IntColumn(member.age);
+        DictionaryColumn teamName = new DictionaryColumn(team.name);
+        StringColumn username = new StringColumn(member.username);
+
+        ColumnarQuery.fetch(queryFactory.from(member).leftJoin(member.team, team).orderBy(member.age.asc()), em,
+                username, age, teamName);
+
+        assertThat(username.toArray()).containsExactly("member1", "member2", "member3", "member4", "member5");
+        assertThat(age.toArray()).containsExactly(10, 20, 30, 40, 50);
+        assertThat(teamName.get(4)).isNull();
+        assertThat(teamName.code(4)).isEqualTo(DictionaryColumn.NULL_CODE);
+        assertThat(teamName.countByCode()).containsExactly(2, 2);
+
+        GroupedIntStats byTeam = age.groupBy(teamName);
+        assertThat(byTeam.groups()).isEqualTo(3);
+        assertThat(byTeam.toMap()).containsKey(null);
+        assertThat(byTeam.get(null).sum()).isEqualTo(50);
+    }
+
+    @Test
+    public void nullValuesAreSkipped() {
+        IntColumn teamNameLength = new IntColumn(team.name.length()); // 팀이 없으면 null
+        IntColumn age = new IntColumn(member.age);
+
+        ColumnarQuery.fetch(queryFactory.from(member).leftJoin(member.team, team).orderBy(member.age.asc()), em,
+                age, teamNameLength);
+
+        assertThat(teamNameLength.hasNulls()).isTrue();
+        assertThat(teamNameLength.isNull(4)).isTrue();
+        assertThat(teamNameLength.countNotNull()).isEqualTo(4);
+        assertThat(teamNameLength.sum()).isEqualTo(20);
+        assertThat(teamNameLength.stats().max()).isEqualTo(5);
+        assertThat(age.hasNulls()).isFalse();
+    }
+
+    @Test
+    public void reuseColumns() {
+        IntColumn age = new IntColumn(member.age);
+
+        ColumnarQuery.fetch(queryFactory.from(member), em, age);
+        ColumnarQuery.fetch(queryFactory.from(member).where(member.age.goe(30)).limit(2).orderBy(member.age.desc()),
+                em, age);
+
+        assertThat(age.size()).isEqualTo(2);
+        assertThat(age.toArray()).containsExactly(50, 40);
+    }
+}
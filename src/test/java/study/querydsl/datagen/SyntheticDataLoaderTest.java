@@ -0,0 +1,123 @@
+package study.querydsl.datagen;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.datagen.SyntheticDataSpec.AgeDistribution;
+import study.querydsl.entity.Member;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 적재는 별도 커넥션으로 커밋되므로 트랜잭션 롤백 대신 끝나면 적재한 id 범위를 지운다.
+ */
+@SpringBootTest
+class SyntheticDataLoaderTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    SyntheticDataLoader loader;
+    @Autowired
+    TeamAgeStatisticsRegistry teamAgeStatistics;
+
+    SyntheticDataLoader.LoadedData loaded;
+
+    @AfterEach
+    public void after() {
+        if (loaded != null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                queryFactory.delete(member).where(member.id.goe(loaded.firstMemberId())).execute();
+                queryFactory.delete(team).where(team.id.goe(loaded.firstTeamId())).execute();
+            });
+            teamAgeStatistics.rebuild();
+        }
+    }
+
+    @Test
+    public void sameSeedSameData() {
+        SyntheticDataSpec spec = SyntheticDataSpec.of(100, 1_000).withSeed(7).withTeamSkew(1.2)
+                .withAges(AgeDistribution.NORMAL, 20, 60).withNullUsernameRatio(0.1).withNoTeamRatio(0.1);
+        SyntheticDataGenerator first = new SyntheticDataGenerator(spec);
+        SyntheticDataGenerator second = new SyntheticDataGenerator(spec);
+        SyntheticDataGenerator otherSeed = new SyntheticDataGenerator(spec.withSeed(8));
+
+        int differentTeams = 0;
+        for (int i = 0; i < spec.members(); i++) {
+            assertThat(second.username(i)).isEqualTo(first.username(i));
+            assertThat(second.age(i)).isEqualTo(first.age(i)).isBetween(20, 60);
+            assertThat(second.team(i)).isEqualTo(first.team(i));
+            if (otherSeed.team(i) != first.team(i)) {
+                differentTeams++;
+            }
+        }
+        assertThat(differentTeams).isPositive();
+    }
+
+    @Test
+    public void defaultSpecMatchesRoundRobinSeed() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(SyntheticDataSpec.of(1_000, 2_000));
+
+        assertThat(generator.username(1234)).isEqualTo("member1234");
+        assertThat(generator.age(1234)).isEqualTo(34);
+        assertThat(generator.team(1234)).isEqualTo(234);
+    }
+
+    @Test
+    public void loadsSkewedData() {
+        SyntheticDataSpec spec = SyntheticDataSpec.of(20, 5_000).withSeed(42).withTeamSkew(1.0)
+                .withAges(AgeDistribution.UNIFORM, 10, 19).withNullUsernameRatio(0.1).withNoTeamRatio(0.05);
+
+        loaded = loader.load(spec);
+
+        long members = queryFactory.select(member.count()).from(member)
+                .where(member.id.goe(loaded.firstMemberId())).fetchOne();
+        long nullUsernames = queryFactory.select(member.count()).from(member)
+                .where(member.id.goe(loaded.firstMemberId()), member.username.isNull()).fetchOne();
+        long noTeam = queryFactory.select(member.count()).from(member)
+                .where(member.id.goe(loaded.firstMemberId()), member.team.isNull()).fetchOne();
+        List<Tuple> teamSizes = queryFactory.select(team.name, member.count()).from(member)
+                .join(member.team, team)
+                .where(team.id.goe(loaded.firstTeamId()))
+                .groupBy(team.name)
+                .orderBy(member.count().desc())
+                .fetch();
+
+        assertThat(members).isEqualTo(5_000);
+        assertThat(nullUsernames).isBetween(400L, 600L);
+        assertThat(noTeam).isBetween(150L, 350L);
+        assertThat(teamSizes.get(0).get(team.name)).isEqualTo("team0"); // Zipf: team0 이 가장 크다
+        assertThat(teamSizes.get(0).get(member.count())).isGreaterThan(4 * teamSizes.get(teamSizes.size() - 1).get(member.count()));
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec);
+        Member sample = em.find(Member.class, loaded.firstMemberId() + 123);
+        assertThat(sample.getUsername()).isEqualTo(generator.username(123));
+        assertThat(sample.getAge()).isEqualTo(generator.age(123)).isBetween(10, 19);
+    }
+
+    @Test
+    public void sequencesContinueAfterLoad() {
+        loaded = loader.load(SyntheticDataSpec.of(3, 600));
+
+        Member created = transactionTemplate.execute(status -> {
+            Member newMember = new Member("afterLoad", 1);
+            em.persist(newMember);
+            return newMember;
+        });
+
+        assertThat(created.getId()).isGreaterThanOrEqualTo(loaded.firstMemberId() + loaded.members());
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.entity;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.support.SqlBudget;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * hibernate.default_batch_fetch_size 확인
+ * 지연 로딩 대상 하나를 초기화하면, 영속성 컨텍스트에 있는 같은 종류의 나머지 프록시/컬렉션도 IN 쿼리 한번으로 로딩된다.
+ */
+@SpringBootTest
+@Transactional
+class BatchFetchTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        for (int t = 0; t < 20; t++) {
+            Team team = new Team("team" + t);
+            em.persist(team);
+            for (int m = 0; m < 50; m++) {
+                em.persist(new Member("member" + t + "_" + m, m, team));
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /** 회원 1,000 명의 팀 조회: 회원 조회 1 + 팀 배치 조회 1 */
+    @Test
+    @SqlBudget(maxStatements = 2, repeatedThreshold = 2)
+    public void memberTeam() {
+        List<Member> members = queryFactory.selectFrom(member).fetch();
+        assertThat(members).hasSize(1_000);
+        members.forEach(m -> assertThat(m.getTeam().getName()).startsWith("team"));
+    }
+
+    /** 팀 20 개의 회원 컬렉션 조회: 팀 조회 1 + 컬렉션 배치 조회 1 */
+    @Test
+    @SqlBudget(maxStatements = 2, repeatedThreshold = 2)
+    public void teamMembers() {
+        List<Team> teams = queryFactory.selectFrom(team).fetch();
+        assertThat(teams).hasSize(20);
+        teams.forEach(t -> assertThat(t.getMembers()).hasSize(50));
+    }
+}
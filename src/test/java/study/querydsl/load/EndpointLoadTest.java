@@ -0,0 +1,82 @@
+package study.querydsl.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import study.querydsl.datagen.SyntheticDataSpec;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * REST 엔드포인트 종단간(웹 + JPA + H2) 부하 측정
+ * 회원 100,000 명 / 팀 1,000 개(크기가 치우친 분포)를 적재하고, 엔드포인트별로 closed/open 모델을 실행해 결과를 출력한다.
+ * 실행: ./gradlew loadTest
+ */
+@Tag("load")
+class EndpointLoadTest {
+
+    static final Duration WARMUP = Duration.ofSeconds(5);
+    static final Duration DURATION = Duration.ofSeconds(15);
+
+    static LoadTarget target;
+    final LoadGenerator generator = new LoadGenerator();
+
+    @BeforeAll
+    static void startTarget() {
+        target = LoadTarget.start("endpoints");
+        target.seed(SyntheticDataSpec.of(1_000, 100_000).withSeed(1).withTeamSkew(1.0)
+                .withAges(SyntheticDataSpec.AgeDistribution.NORMAL, 10, 70));
+    }
+
+    @AfterAll
+    static void stopTarget() {
+        target.close();
+    }
+
+    @Test
+    public void hello() throws Exception {
+        LoadReport closed = generator.run("GET /dodorian", Workload.closed(64, DURATION, WARMUP),
+                LoadGenerator.get(target.uri("/dodorian")));
+        LoadReport open = generator.run("GET /dodorian", Workload.open(2_000, DURATION, WARMUP),
+                LoadGenerator.get(target.uri("/dodorian")));
+
+        print(closed, open);
+        assertThat(closed.errors()).isZero();
+        assertThat(open.errors()).isZero();
+        assertThat(open.throughput()).isGreaterThan(2_000 * 0.9); // 목표 요청률을 유지했는지
+    }
+
+    @Test
+    public void memberPages() throws Exception {
+        LoadReport closed = generator.run("GET /members", Workload.closed(32, DURATION, WARMUP),
+                LoadGenerator.get(target.uri("/members?page=0&size=20"), target.uri("/members?page=50&size=20")));
+        LoadReport paced = generator.run("GET /members", Workload.paced(32, Duration.ofMillis(50), DURATION, WARMUP),
+                LoadGenerator.get(target.uri("/members?page=0&size=20"), target.uri("/members?page=50&size=20")));
+
+        print(closed, paced);
+        assertThat(closed.errors()).isZero();
+        assertThat(paced.errors()).isZero();
+    }
+
+    @Test
+    public void memberSearch() throws Exception {
+        LoadReport open = generator.run("GET /members/search", Workload.open(500, DURATION, WARMUP),
+                LoadGenerator.get(
+                        target.uri("/members/search?teamName=team0&size=20"), // 가장 큰 팀
+                        target.uri("/members/search?teamName=team999&size=20"),
+                        target.uri("/members/search?ageGoe=30&ageLoe=31&size=20"),
+                        target.uri("/members/search?username=member12345")));
+
+        print(open);
+        assertThat(open.errors()).isZero();
+    }
+
+    private static void print(LoadReport... reports) {
+        for (LoadReport report : reports) {
+            System.out.println(report);
+        }
+    }
+}
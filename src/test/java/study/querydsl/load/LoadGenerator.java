@@ -0,0 +1,163 @@
+package study.querydsl.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import study.querydsl.support.VirtualThreads;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * HTTP 부하 생성기 ({@link Workload} 의 closed/open 모델)
+ * 지연시간은 마이크로초 HdrHistogram 두 개로 기록한다.
+ * - response: 요청을 보내기로 계획한 시각부터 응답까지 (coordinated omission 보정)
+ *   open/pacing 모델만 기록한다. 계획 시각이 응답과 무관하므로 그대로 보정된 값이다.
+ *   pacing 없는 closed 모델은 이전 응답이 다음 요청 시각을 정하므로 보정할 기준이 없어 service 만 보고한다.
+ * - service: 실제로 보낸 시각부터 응답까지 (서버가 한 요청을 처리한 시간)
+ * 상태 코드 400 이상이나 예외는 오류로 센다.
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1) // h2c 업그레이드 시도 없이
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /** uris 를 차례대로 돌아가며 GET */
+    public static LongFunction<HttpRequest> get(URI... uris) {
+        List<HttpRequest> requests = new ArrayList<>(uris.length);
+        for (URI uri : uris) {
+            requests.add(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build());
+        }
+        return sequence -> requests.get((int) (sequence % requests.size()));
+    }
+
+    public LoadReport run(String name, Workload workload, LongFunction<HttpRequest> requests) throws Exception {
+        Measurements measurements = new Measurements(System.nanoTime(), workload);
+        if (workload instanceof Workload.Closed closed) {
+            runClosed(closed, requests, measurements);
+        } else if (workload instanceof Workload.Open open) {
+            runOpen(open, requests, measurements);
+        }
+        Histogram response = measurements.response;
+        if (workload instanceof Workload.Closed closed && closed.pacing() == null) {
+            response = null; // 계획 시각이 없으므로 보정할 수 없다, 응답 지연이 필요하면 Workload.paced
+        }
+        return new LoadReport(name, workload, measurements.completed.get(), measurements.errors.get(),
+                response, measurements.service);
+    }
+
+    private void runClosed(Workload.Closed workload, LongFunction<HttpRequest> requests, Measurements measurements)
+            throws Exception {
+        long pacing = workload.pacing() == null ? 0 : workload.pacing().toNanos();
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService users = VirtualThreads.newExecutor("load-user-", workload.users());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int user = 0; user < workload.users(); user++) {
+            long first = measurements.start + pacing * user / workload.users(); // 사용자별 계획 시각을 고르게 흩뜨린다
+            futures.add(CompletableFuture.runAsync(() -> {
+                long next = first;
+                while (true) {
+                    long intended = pacing == 0 ? System.nanoTime() : next;
+                    if (intended >= measurements.end) {
+                        return;
+                    }
+                    sleepUntil(intended);
+                    long sent = System.nanoTime();
+                    boolean ok = send(requests.apply(sequence.getAndIncrement()));
+                    measurements.record(intended, sent, System.nanoTime(), ok);
+                    next = intended + pacing; // 늦어졌으면 바로 다음 요청, 지연은 계획 시각부터 잰다
+                }
+            }, users));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private void runOpen(Workload.Open workload, LongFunction<HttpRequest> requests, Measurements measurements)
+            throws Exception {
+        long interval = workload.intervalNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            long intended = measurements.start + i * interval;
+            if (intended >= measurements.end) {
+                break;
+            }
+            sleepUntil(intended); // 생성기가 늦어져도 지연은 계획 시각부터 잰다
+            long sent = System.nanoTime();
+            inFlight.add(client.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        measurements.record(intended, sent, System.nanoTime(),
+                                error == null && response.statusCode() < 400);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static class Measurements {
+        final long start;
+        final long measureFrom;
+        final long end;
+        final ConcurrentHistogram response = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final ConcurrentHistogram service = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+
+        Measurements(long start, Workload workload) {
+            this.start = start;
+            this.measureFrom = start + workload.warmup().toNanos();
+            this.end = measureFrom + workload.duration().toNanos();
+        }
+
+        void record(long intended, long sent, long done, boolean ok) {
+            if (intended < measureFrom) {
+                return; // warmup
+            }
+            response.recordValue(micros(done - intended));
+            service.recordValue(micros(done - sent));
+            completed.incrementAndGet();
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private static long micros(long nanos) {
+            return Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package study.querydsl.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+
+/**
+ * 부하 실행 결과 (warmup 이후 계획된 요청만), 지연시간 히스토그램 단위는 마이크로초
+ *
+ * @param response 계획 시각부터 응답까지 (coordinated omission 보정), pacing 없는 closed 모델은 null
+ * @param service  실제로 보낸 시각부터 응답까지
+ */
+public record LoadReport(String name, Workload workload, long requests, long errors,
+                         Histogram response, Histogram service) {
+
+    /** 측정 구간(duration) 기준 초당 완료 요청 수 */
+    public double throughput() {
+        return requests / (workload.duration().toNanos() / 1_000_000_000.0);
+    }
+
+    /** pacing 없는 closed 모델은 계획 시각이 없어 응답 지연(보정값)이 없다 */
+    public boolean hasResponse() {
+        return response != null;
+    }
+
+    public double responseMillis(double percentile) {
+        if (response == null) {
+            throw new IllegalStateException(workload + " 에는 응답 지연이 없습니다. Workload.paced 로 실행하세요.");
+        }
+        return response.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public double serviceMillis(double percentile) {
+        return service.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    /** 응답 지연 분포 전체 (HdrHistogram 형식, 밀리초), 응답 지연이 없으면 service */
+    public void printDistribution(PrintStream out) {
+        out.println(hasResponse() ? "response" : "service");
+        (hasResponse() ? response : service).outputPercentileDistribution(out, 1_000.0);
+    }
+
+    @Override
+    public String toString() {
+        String header = String.format("%s %s: requests=%d errors=%d throughput=%.1f req/s%n",
+                name, workload, requests, errors, throughput());
+        String responseLine = hasResponse()
+                ? String.format("  response p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                        responseMillis(50), responseMillis(90), responseMillis(99), responseMillis(99.9),
+                        response.getMaxValue() / 1_000.0)
+                : String.format("  response n/a (closed without pacing)%n");
+        return header + responseLine
+                + String.format("  service  p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                serviceMillis(50), serviceMillis(90), serviceMillis(99), serviceMillis(99.9),
+                service.getMaxValue() / 1_000.0);
+    }
+}
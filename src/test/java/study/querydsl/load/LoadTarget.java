@@ -0,0 +1,58 @@
+package study.querydsl.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QueryDslApplication;
+import study.querydsl.datagen.SyntheticDataLoader;
+import study.querydsl.datagen.SyntheticDataSpec;
+
+import java.net.URI;
+
+/**
+ * 부하 테스트 대상 애플리케이션 (같은 JVM, 임의 포트, in-memory H2)
+ * SQL 로그/p6spy/SQL 예산 검사는 끄고 웹 + JPA 경로만 측정한다.
+ */
+public class LoadTarget implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final int port;
+
+    private LoadTarget(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public static LoadTarget start(String databaseName, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QueryDslApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "decorator.datasource.enabled=false",
+                        "sql.budget.enabled=false",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=warn")
+                .properties(properties) // 테스트별 추가 설정
+                .run();
+        return new LoadTarget(context);
+    }
+
+    public SyntheticDataLoader.LoadedData seed(SyntheticDataSpec spec) {
+        return getBean(SyntheticDataLoader.class).load(spec);
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
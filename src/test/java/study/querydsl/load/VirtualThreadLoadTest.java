@@ -0,0 +1,49 @@
+package study.querydsl.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import study.querydsl.datagen.SyntheticDataSpec;
+import study.querydsl.support.VirtualThreads;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 플랫폼 스레드(Tomcat 기본 풀) vs 가상 스레드 요청 처리 비교
+ * 동시 사용자 CONCURRENCY 명이 GET /members 를 반복 호출하고(closed 모델) 처리량/지연시간을 출력한다.
+ * 실행: ./gradlew loadTest (JDK 21 이상)
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    static final int CONCURRENCY = 1_000;
+    static final Duration WARMUP = Duration.ofSeconds(5);
+    static final Duration DURATION = Duration.ofSeconds(20);
+    static final int TOMCAT_MAX_THREADS = 50;
+
+    @Test
+    public void platformVsVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "JDK 21 이상 필요");
+
+        LoadReport platform = run(false);
+        LoadReport virtual = run(true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadReport run(boolean virtualThreads) throws Exception {
+        try (LoadTarget target = LoadTarget.start("load" + virtualThreads,
+                "app.threads.virtual=" + virtualThreads,
+                "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS)) {
+            target.seed(SyntheticDataSpec.of(100, 10_000));
+            return new LoadGenerator().run(virtualThreads ? "virtual threads" : "platform threads",
+                    Workload.closed(CONCURRENCY, DURATION, WARMUP),
+                    LoadGenerator.get(target.uri("/members?page=3&size=20")));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.load;
+
+import java.time.Duration;
+
+/**
+ * 부하 모델
+ * - closed: users 명이 각자 응답을 받은 뒤 다음 요청을 보낸다. 동시 요청 수가 고정이고, 서버가 느려지면 요청률이 떨어진다.
+ *   pacing 을 주면 사용자마다 pacing 간격으로 요청을 계획하고, 늦어진 요청은 계획 시각부터 지연시간을 잰다.
+ * - open: 응답과 관계없이 ratePerSecond 로 요청을 보낸다. (실제 사용자 유입과 같은 모델)
+ * warmup 동안 보낸 요청은 기록하지 않는다.
+ */
+public sealed interface Workload {
+
+    Duration duration();
+
+    Duration warmup();
+
+    record Closed(int users, Duration pacing, Duration duration, Duration warmup) implements Workload {
+        @Override
+        public String toString() {
+            return "closed(users=" + users + (pacing == null ? "" : ", pacing=" + pacing.toMillis() + "ms") + ")";
+        }
+    }
+
+    record Open(double ratePerSecond, Duration duration, Duration warmup) implements Workload {
+        long intervalNanos() {
+            return Math.max(1, Math.round(1_000_000_000 / ratePerSecond));
+        }
+
+        @Override
+        public String toString() {
+            return "open(rate=" + ratePerSecond + "/s)";
+        }
+    }
+
+    static Workload closed(int users, Duration duration, Duration warmup) {
+        return new Closed(users, null, duration, warmup);
+    }
+
+    static Workload paced(int users, Duration pacing, Duration duration, Duration warmup) {
+        return new Closed(users, pacing, duration, warmup);
+    }
+
+    static Workload open(double ratePerSecond, Duration duration, Duration warmup) {
+        return new Open(ratePerSecond, duration, warmup);
+    }
+}
@@ -0,0 +1,109 @@
+package study.querydsl.paging;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.sql.QueryShapeMetrics;
+import study.querydsl.sql.QueryShapeReport;
+import study.querydsl.sql.SqlStatementScope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 병렬 count 는 별도 트랜잭션에서 실행되므로, 테스트 데이터는 커밋하고 끝나면 지운다. (@Transactional 미사용)
+ */
+@SpringBootTest
+class PagedQueryExecutorTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+    @Autowired
+    QueryShapeMetrics queryShapeMetrics;
+
+    Predicate paged = member.username.startsWith("paged");
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                em.persist(new Member("paged" + i, 10 * i));
+            }
+        });
+        queryShapeMetrics.reset();
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status ->
+                queryFactory.delete(member).where(paged).execute());
+    }
+
+    @Test
+    public void sequentialCountOnFullFirstPage() {
+        try (SqlStatementScope scope = SqlStatementScope.begin("fullPage")) {
+            Page<Member> page = memberQueryRepository.findAll(paged, PageRequest.of(0, 2));
+            assertThat(page.getContent()).extracting("username").containsExactly("paged0", "paged1");
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            assertThat(page.getTotalPages()).isEqualTo(3);
+            assertThat(scope.getTotalCount()).isEqualTo(2); // 첫 페이지는 content 후 count, 모두 호출 스레드에서
+        }
+        assertThat(pagedCountExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    public void skipCountOnSmallFirstPage() {
+        try (SqlStatementScope scope = SqlStatementScope.begin("smallPage")) {
+            Page<Member> page = memberQueryRepository.findAll(paged, PageRequest.of(0, 10));
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            assertThat(scope.getTotalCount()).isEqualTo(1);
+        }
+        assertThat(pagedCountExecutions()).isZero(); // 다른 스레드/커넥션에서도 count 가 실행되지 않았다
+    }
+
+    @Test
+    public void parallelCountOnLaterPage() {
+        try (SqlStatementScope scope = SqlStatementScope.begin("laterPage")) {
+            Page<Member> page = memberQueryRepository.findAll(paged, PageRequest.of(1, 2));
+            assertThat(page.getContent()).extracting("username").containsExactly("paged2", "paged3");
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            assertThat(scope.getTotalCount()).isEqualTo(1); // 호출 스레드에서는 content 만
+        }
+        assertThat(pagedCountExecutions()).isEqualTo(1); // count 는 다른 스레드에서
+    }
+
+    @Test
+    public void sequentialCountInWriteTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Member("paged5", 50)); // 아직 커밋하지 않은 변경도 count 에 보여야 한다
+            try (SqlStatementScope scope = SqlStatementScope.begin("writeTx")) {
+                Page<Member> page = memberQueryRepository.findAll(paged, PageRequest.of(1, 2));
+                assertThat(page.getTotalElements()).isEqualTo(6);
+                assertThat(scope.getTotalCount()).isEqualTo(3); // flush(insert), content, count
+            }
+        });
+    }
+
+    /** 프로세스 전체(모든 스레드)에서 실행된 paged count 쿼리 수 */
+    private long pagedCountExecutions() {
+        return queryShapeMetrics.report(1_000, "count").stream()
+                .filter(report -> report.getQuery().contains("count(") && report.getQuery().contains("like"))
+                .mapToLong(QueryShapeReport::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,140 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UserDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class FastProjectionsTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("fastA");
+        em.persist(teamA);
+        em.persist(new Member("fast1", 10, teamA));
+        em.persist(new Member("fast2", 20, teamA));
+        em.persist(new Member("fast3", 30, null));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void bean() {
+        FastBean<MemberDto> projection = FastProjections.bean(MemberDto.class, member.username, member.age);
+        MemberDto dto = projection.newInstance("member1", 10);
+        assertThat(dto.getUsername()).isEqualTo("member1");
+        assertThat(dto.getAge()).isEqualTo(10);
+        assertThat(projection.getArgs()).containsExactly(member.username, member.age);
+    }
+
+    @Test
+    public void fieldsWithAlias() {
+        FastBean<UserDto> projection = FastProjections.fields(UserDto.class,
+                member.username.as("name"),
+                Expressions.as(member.age.max(), "age"));
+        UserDto dto = projection.newInstance("member1", 40);
+        assertThat(dto.getName()).isEqualTo("member1");
+        assertThat(dto.getAge()).isEqualTo(40);
+    }
+
+    @Test
+    public void nullValues() {
+        MemberDto bean = FastProjections.bean(MemberDto.class, member.username, member.age).newInstance(null, null);
+        assertThat(bean.getUsername()).isNull();
+        assertThat(bean.getAge()).isZero();
+
+        MemberDto constructed = FastProjections.constructor(MemberDto.class, member.username, member.age)
+                .newInstance("member1", null);
+        assertThat(constructed.getAge()).isZero();
+    }
+
+    @Test
+    public void constructor() {
+        MemberDto dto = FastProjections.constructor(MemberDto.class, member.username, member.age)
+                .newInstance("member2", 20);
+        assertThat(dto).isEqualTo(new MemberDto("member2", 20));
+    }
+
+    @Test
+    public void unknownProperty() {
+        assertThatThrownBy(() -> FastProjections.bean(UserDto.class, member.username))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FastProjections.bean(UserDto.class, member.age.add(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void fetchFields() {
+        List<UserDto> result = queryFactory
+                .select(FastProjections.fields(UserDto.class,
+                        member.username.as("name"),
+                        member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        assertThat(result).extracting("name").containsExactly("fast1", "fast2", "fast3");
+        assertThat(result).extracting("age").containsExactly(10, 20, 30);
+    }
+
+    @Test
+    public void fetchFieldsWithAggregateAlias() {
+        UserDto result = queryFactory
+                .select(FastProjections.fields(UserDto.class,
+                        member.username.min().as("name"),
+                        Expressions.as(member.age.max(), "age")))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .fetchOne();
+        assertThat(result).isEqualTo(new UserDto("fast1", 30));
+    }
+
+    @Test
+    public void fetchBean() {
+        List<MemberDto> result = queryFactory
+                .select(FastProjections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        assertThat(result).containsExactly(
+                new MemberDto("fast1", 10), new MemberDto("fast2", 20), new MemberDto("fast3", 30));
+    }
+
+    @Test
+    public void fetchConstructorWithNullJoin() {
+        List<MemberTeamDto> result = queryFactory
+                .select(FastProjections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        assertThat(result).extracting("username").containsExactly("fast1", "fast2", "fast3");
+        assertThat(result).extracting("teamName").containsExactly("fastA", "fastA", null);
+        assertThat(result.get(2).getTeamId()).isNull();
+    }
+}
@@ -0,0 +1,99 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.sql.SqlStatementScope;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class MemberBulkRepositoryTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+    }
+
+    @Test
+    public void addAge() {
+        long count = memberBulkRepository.addAge(member.team.id.eq(teamA.getId()), 1);
+
+        assertThat(count).isEqualTo(2);
+        // em.clear() 없이도 영속성 컨텍스트의 member1 이 DB 와 같다
+        assertThat(member1.getAge()).isEqualTo(11);
+        assertThat(queryFactory.select(member.age.sum()).from(member).fetchOne()).isEqualTo(102);
+    }
+
+    @Test
+    public void synchronizesOnlyLoadedMembers() {
+        em.flush();
+        em.clear();
+
+        try (SqlStatementScope scope = SqlStatementScope.begin("bulkNothingLoaded")) {
+            assertThat(memberBulkRepository.addAge(member.age.goe(0), 1)).isEqualTo(4);
+            assertThat(scope.getTotalCount()).isEqualTo(1); // 로딩된 엔티티가 없으면 UPDATE 만 실행한다
+        }
+
+        Member loaded = em.find(Member.class, member1.getId());
+        try (SqlStatementScope scope = SqlStatementScope.begin("bulkOneLoaded")) {
+            assertThat(memberBulkRepository.addAge(member.age.goe(0), 1)).isEqualTo(4);
+            assertThat(scope.getTotalCount()).isEqualTo(3); // 로딩된 id 로 제한한 조회, UPDATE, refresh
+        }
+        assertThat(loaded.getAge()).isEqualTo(12);
+    }
+
+    @Test
+    public void moveToTeam() {
+        assertThat(teamA.getMembers()).hasSize(2);
+
+        long count = memberBulkRepository.moveToTeam(MemberBulkRepository.inTeams(team.name.eq("teamA")), teamB);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(member1.getTeam()).isSameAs(teamB);
+        assertThat(teamA.getMembers()).isEmpty();
+        assertThat(teamB.getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3", "member4");
+    }
+
+    @Test
+    public void delete() {
+        long count = memberBulkRepository.delete(member.age.goe(30));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(em.contains(member1)).isTrue();
+        assertThat(queryFactory.selectFrom(member).fetch()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+
+        memberBulkRepository.delete(member.id.eq(member1.getId()));
+        assertThat(em.contains(member1)).isFalse();
+        assertThat(em.find(Member.class, member1.getId())).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.jdbc.SMember.member;
+
+@SpringBootTest
+@Transactional
+class MemberJdbcRepositoryTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJdbcRepository memberJdbcRepository;
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50)); // 팀 없음
+    }
+
+    @Test
+    public void findMemberDtos() {
+        List<MemberDto> result = memberJdbcRepository.findMemberDtos(member.age.goe(30));
+
+        assertThat(result).containsExactly(
+                new MemberDto("member3", 30),
+                new MemberDto("member4", 40),
+                new MemberDto("member5", 50));
+    }
+
+    @Test
+    public void searchMatchesJpaPath() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        List<MemberTeamDto> result = memberJdbcRepository.search(condition, Pageable.unpaged());
+
+        assertThat(result).extracting("username").containsExactly("member2", "member3", "member4", "member5");
+        assertThat(result.get(3).getTeamId()).isNull();
+        assertThat(result.get(3).getTeamName()).isNull();
+        assertThat(result).isEqualTo(memberQueryRepository.search(condition, PageRequest.of(0, 100)).getContent());
+    }
+
+    @Test
+    public void searchByTeamNamePaged() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = memberJdbcRepository.search(condition, PageRequest.of(1, 1));
+
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result.get(0).getTeamName()).isEqualTo("teamB");
+    }
+
+    @Test
+    public void noPersistenceContext() {
+        em.flush();
+        em.clear();
+
+        memberJdbcRepository.search(new MemberSearchCondition(), Pageable.unpaged());
+
+        assertThat(em.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -0,0 +1,153 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.paging.KeysetPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class MemberQueryRepositoryTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member4", 50, teamB)); // username 중복 -> id 로 구분
+        em.persist(new Member(null, 60));            // username null -> 마지막
+    }
+
+    @Test
+    public void findByUsername() {
+        Member findMember = memberQueryRepository.findByUsername("member1");
+        assertThat(findMember.getAge()).isEqualTo(10);
+        // 같은 모양의 쿼리는 캐시된 JPQL 로 값만 바꿔 실행
+        assertThat(memberQueryRepository.findByUsername("member3").getAge()).isEqualTo(30);
+        assertThat(memberQueryRepository.findByUsername("none")).isNull();
+    }
+
+    @Test
+    public void findAllWithSort() {
+        Page<Member> byAge = memberQueryRepository.findAll(null, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+        assertThat(byAge.getContent()).extracting("age").containsExactly(60, 50, 40);
+
+        // username 중복은 id 순
+        Page<Member> byUsername = memberQueryRepository.findAll(member.username.isNotNull(),
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")));
+        assertThat(byUsername.getContent()).extracting("age").containsExactly(40, 50, 30);
+    }
+
+    @Test
+    public void findAllWithUnknownSort() {
+        assertThatThrownBy(() -> memberQueryRepository.findAll(null, PageRequest.of(0, 3, Sort.by("team"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("team");
+    }
+
+    @Test
+    public void keysetPaging() {
+        List<String> usernames = new ArrayList<>();
+        List<Integer> ages = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<Member> page = memberQueryRepository.findPage(null, cursor, 2);
+            page.getContent().forEach(m -> {
+                usernames.add(m.getUsername());
+                ages.add(m.getAge());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(usernames).containsExactly("member1", "member2", "member3", "member4", "member4", null);
+        assertThat(ages).containsExactly(10, 20, 30, 40, 50, 60);
+    }
+
+    @Test
+    public void keysetPagingWithSortAndCondition() {
+        KeysetPage<Member> first = memberQueryRepository.findPage(
+                member.age.goe(20), null, 3, member.age.desc());
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent()).extracting("age").containsExactly(60, 50, 40);
+
+        KeysetPage<Member> second = memberQueryRepository.findPage(
+                member.age.goe(20), first.getNextCursor(), 3, member.age.desc());
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getContent()).extracting("age").containsExactly(30, 20);
+    }
+
+    @Test
+    public void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+
+        Page<MemberTeamDto> result = memberQueryRepository.search(condition, PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2); // 마지막 페이지라 count 쿼리 생략
+        assertThat(result.getContent()).extracting("age").containsExactly(40, 50);
+        assertThat(result.getContent()).extracting("teamName").containsOnly("teamB");
+    }
+
+    @Test
+    public void searchWithSort() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        Sort sort = Sort.by(Sort.Order.desc("teamName"), Sort.Order.desc("age"));
+
+        Page<MemberTeamDto> first = memberQueryRepository.search(condition, PageRequest.of(0, 4, sort));
+        assertThat(first.getContent()).extracting("age").containsExactly(50, 40, 30, 20);
+        assertThat(first.getTotalElements()).isEqualTo(6);
+
+        Page<MemberTeamDto> second = memberQueryRepository.search(condition, PageRequest.of(1, 4, sort));
+        assertThat(second.getContent()).extracting("age").containsExactly(10, 60); // 팀 없는 회원은 desc 에서 마지막
+    }
+
+    @Test
+    public void searchWithUnknownSort() {
+        assertThatThrownBy(() -> memberQueryRepository.search(new MemberSearchCondition(),
+                PageRequest.of(0, 10, Sort.by("team.name"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void searchWithoutCondition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(""); // 빈 문자열은 조건 없음
+
+        Page<MemberTeamDto> result = memberQueryRepository.search(condition, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).hasSize(6);
+        assertThat(result.getContent().get(5).getTeamName()).isNull(); // 팀 없는 회원도 포함 (left join)
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamQueryRepositoryTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TeamQueryRepository teamQueryRepository;
+
+    Long teamAId;
+    Long teamBId;
+    Long member1Id;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, 10 * i, teamA));
+        }
+        em.flush();
+        em.clear();
+        teamAId = teamA.getId();
+        teamBId = teamB.getId();
+        member1Id = teamA.getMembers().get(1).getId();
+    }
+
+    @Test
+    public void changeTeamDoesNotLoadMembers() {
+        Team teamA = em.find(Team.class, teamAId);
+        Team teamB = em.getReference(Team.class, teamBId);
+        Member member1 = em.find(Member.class, member1Id);
+
+        member1.changeTeam(teamB);
+
+        assertThat(Hibernate.isInitialized(teamA.getMembers())).isFalse();
+        assertThat(Hibernate.isInitialized(teamB)).isFalse();
+        em.flush();
+        assertThat(teamQueryRepository.countMembers(teamAId)).isEqualTo(4);
+        assertThat(teamQueryRepository.containsMember(teamBId, member1Id)).isTrue();
+        assertThat(teamQueryRepository.containsMember(teamAId, member1Id)).isFalse();
+    }
+
+    @Test
+    public void changeTeamKeepsLoadedCollections() {
+        Team teamA = em.find(Team.class, teamAId);
+        Team teamB = em.find(Team.class, teamBId);
+        assertThat(teamA.getMembers()).hasSize(5);
+        assertThat(teamB.getMembers()).isEmpty();
+
+        Member member1 = em.find(Member.class, member1Id);
+        member1.changeTeam(teamB);
+
+        assertThat(teamA.getMembers()).hasSize(4).doesNotContain(member1); // 이전 팀에서 제거
+        assertThat(teamB.getMembers()).containsExactly(member1);
+    }
+
+    @Test
+    public void changeTeamQueuesAddToUnloadedCollection() {
+        Team teamB = em.find(Team.class, teamBId);
+        Member member1 = em.find(Member.class, member1Id);
+
+        member1.changeTeam(teamB);
+
+        assertThat(Hibernate.isInitialized(teamB.getMembers())).isFalse(); // 추가만으로는 읽지 않는다
+        assertThat(teamB.getMembers()).containsExactly(member1); // flush 전에 읽어도 쌓아둔 추가가 반영된다
+    }
+
+    @Test
+    public void findMembers() {
+        Slice<Member> first = teamQueryRepository.findMembers(teamAId, PageRequest.of(0, 3));
+        assertThat(first.getContent()).extracting("username").containsExactly("member0", "member1", "member2");
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<Member> second = teamQueryRepository.findMembers(teamAId, first.nextPageable());
+        assertThat(second.getContent()).extracting("username").containsExactly("member3", "member4");
+        assertThat(second.hasNext()).isFalse();
+    }
+}
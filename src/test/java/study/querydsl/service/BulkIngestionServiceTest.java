@@ -0,0 +1,111 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.IngestBatch;
+import study.querydsl.dto.IngestionReport;
+import study.querydsl.dto.MemberIngestRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.sql.SqlStatementScope;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 적재는 별도 트랜잭션(REQUIRES_NEW)에서 커밋되므로 TransactionTemplate 으로 확인하고, 끝나면 데이터를 지운다.
+ */
+@SpringBootTest
+class BulkIngestionServiceTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    BulkIngestionService bulkIngestionService;
+    @Autowired
+    TeamAgeStatisticsRegistry teamAgeStatistics;
+
+    Long existingTeamId;
+
+    @BeforeEach
+    public void before() {
+        existingTeamId = transactionTemplate.execute(status -> {
+            Team existing = new Team("ingestA");
+            em.persist(existing);
+            return existing.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.username.startsWith("ingest")).execute();
+            queryFactory.delete(team).where(team.name.startsWith("ingest")).execute();
+        });
+        teamAgeStatistics.rebuild();
+    }
+
+    @Test
+    public void ingest() {
+        List<MemberIngestRequest> members = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) { // batch_size 500 -> 회원 insert 배치 3번
+            String teamName = switch (i % 4) {
+                case 0 -> "ingestA"; // 이미 있는 팀
+                case 1 -> "ingestB"; // teams 목록의 새 팀
+                case 2 -> "ingestC"; // 회원에만 있는 새 팀
+                default -> null;
+            };
+            members.add(new MemberIngestRequest("ingest" + i, i % 100, teamName));
+        }
+
+        IngestionReport report;
+        try (SqlStatementScope scope = SqlStatementScope.begin("ingest")) {
+            report = bulkIngestionService.ingest(new IngestBatch(List.of("ingestA", "ingestB"), members));
+            long memberInserts = scope.getShapeCounts().entrySet().stream()
+                    .filter(entry -> entry.getKey().toLowerCase().startsWith("insert into member"))
+                    .mapToLong(entry -> entry.getValue())
+                    .sum();
+            assertThat(memberInserts).isEqualTo(3);
+        }
+
+        assertThat(report.getTeams()).isEqualTo(2); // ingestA 는 재사용
+        assertThat(report.getMembers()).isEqualTo(1_200);
+        assertThat(report.getMemberIds()).hasSize(1_200).doesNotHaveDuplicates();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(queryFactory.selectFrom(team).where(team.name.startsWith("ingest")).fetch())
+                    .extracting("name").containsExactlyInAnyOrder("ingestA", "ingestB", "ingestC");
+            // 돌려준 id 는 요청 순서의 회원
+            Member first = em.find(Member.class, report.getMemberIds().get(0));
+            assertThat(first.getUsername()).isEqualTo("ingest0");
+            assertThat(first.getTeam().getId()).isEqualTo(existingTeamId);
+            Member last = em.find(Member.class, report.getMemberIds().get(1_199));
+            assertThat(last.getUsername()).isEqualTo("ingest1199");
+            assertThat(last.getTeam()).isNull();
+        });
+    }
+
+    @Test
+    public void keepsCallerPersistenceContext() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team loaded = em.find(Team.class, existingTeamId);
+            bulkIngestionService.ingest(new IngestBatch(List.of(),
+                    List.of(new MemberIngestRequest("ingest1", 10, "ingestA"))));
+            assertThat(em.contains(loaded)).isTrue(); // 호출한 쪽에서 로딩한 엔티티는 그대로 관리된다
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.sql.SqlStatementScope;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 스냅샷은 커밋된 데이터만 읽으므로 TransactionTemplate 으로 커밋하고, 끝나면 데이터를 지운다.
+ */
+@SpringBootTest(properties = "snapshot.member.enabled=true")
+class MemberSnapshotTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberSnapshot snapshot;
+    @Autowired
+    MemberSnapshotProperties properties;
+    @Autowired
+    TeamAgeStatisticsRegistry teamAgeStatistics;
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("snapA");
+            Team teamB = new Team("snapB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("snap1", 10, teamA));
+            em.persist(new Member("snap2", 20, teamA));
+            em.persist(new Member("snap3", 30, teamB));
+            em.persist(new Member("snap4", 40));
+        });
+        snapshot.refresh();
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.username.startsWith("snap")).execute();
+            queryFactory.delete(team).where(team.name.startsWith("snap")).execute();
+        });
+        teamAgeStatistics.rebuild();
+        snapshot.refresh();
+    }
+
+    @Test
+    public void evaluatesInMemory() {
+        try (SqlStatementScope scope = SqlStatementScope.begin("snapshot")) {
+            assertThat(snapshot.find(member.username.startsWith("snap").and(member.age.goe(20)), member.age.desc()))
+                    .extracting("username").containsExactly("snap4", "snap3", "snap2");
+            // member.team.name: 묵시적 (내부) 조인
+            assertThat(snapshot.find(member.team.name.eq("snapA"), member.username.asc()))
+                    .extracting("username").containsExactly("snap1", "snap2");
+            // team.name: leftJoin(member.team, team) 별칭
+            assertThat(snapshot.find(member.username.startsWith("snap").and(team.name.isNull())))
+                    .extracting("username").containsExactly("snap4");
+            assertThat(scope.getTotalCount()).isZero();
+        }
+    }
+
+    @Test
+    public void searchUsesSnapshot() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("snapA");
+        try (SqlStatementScope scope = SqlStatementScope.begin("snapshotSearch")) {
+            Page<MemberTeamDto> page = memberQueryRepository.search(condition, PageRequest.of(1, 1));
+            assertThat(page.getContent()).extracting("username").containsExactly("snap2");
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(scope.getTotalCount()).isZero();
+        }
+    }
+
+    @Test
+    public void sortedSearchUsesSnapshot() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("snapA");
+        try (SqlStatementScope scope = SqlStatementScope.begin("snapshotSortedSearch")) {
+            Page<MemberTeamDto> page = memberQueryRepository.search(condition,
+                    PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "age")));
+            assertThat(page.getContent()).extracting("username").containsExactly("snap2", "snap1");
+            assertThat(scope.getTotalCount()).isZero();
+        }
+    }
+
+    @Test
+    public void sameResultAsDatabase() {
+        // snap4 는 팀이 없어서 team.name.ne(..) 가 unknown -> 제외 (SQL 3값 논리)
+        Predicate condition = member.username.startsWith("snap")
+                .and(team.name.ne("snapA").or(member.age.lt(15)));
+
+        List<MemberTeamDto> fromSnapshot = snapshot.find(condition, member.username.asc());
+        List<String> fromDatabase = queryFactory
+                .select(member.username)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(condition)
+                .orderBy(member.username.asc())
+                .fetch();
+
+        assertThat(fromSnapshot).extracting("username").containsExactlyElementsOf(fromDatabase);
+        assertThat(fromDatabase).containsExactly("snap1", "snap3");
+    }
+
+    @Test
+    public void unsupportedPredicateFallsBackToJpa() {
+        QMember memberSub = new QMember("memberSub");
+        long fallbacks = snapshot.getFallbackCount();
+
+        List<MemberTeamDto> result = snapshot.find(member.username.startsWith("snap")
+                .and(member.age.eq(JPAExpressions.select(memberSub.age.max()).from(memberSub)
+                        .where(memberSub.username.startsWith("snap")))));
+
+        assertThat(result).extracting("username").containsExactly("snap4");
+        assertThat(snapshot.getFallbackCount()).isEqualTo(fallbacks + 1);
+    }
+
+    @Test
+    public void staleSnapshotFallsBackToJpa() {
+        Duration maxStaleness = properties.getMaxStaleness();
+        properties.setMaxStaleness(Duration.ZERO);
+        try {
+            long fallbacks = snapshot.getFallbackCount();
+            assertThat(snapshot.find(member.username.eq("snap3"))).extracting("teamName").containsExactly("snapB");
+            assertThat(snapshot.getFallbackCount()).isEqualTo(fallbacks + 1);
+        } finally {
+            properties.setMaxStaleness(maxStaleness);
+        }
+    }
+}
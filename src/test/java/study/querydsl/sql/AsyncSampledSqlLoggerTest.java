@@ -0,0 +1,50 @@
+package study.querydsl.sql;
+
+import com.p6spy.engine.logging.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AsyncSampledSqlLoggerTest {
+
+    @AfterEach
+    public void after() {
+        AsyncSampledSqlLogger.configure(new SqlLogProperties());
+    }
+
+    @Test
+    public void slowStatementsAreAlwaysLoggedWithValues(CapturedOutput output) throws InterruptedException {
+        SqlLogProperties properties = new SqlLogProperties();
+        properties.setSampleRate(0); // 느린 SQL 만
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        AsyncSampledSqlLogger.configure(properties);
+        AsyncSampledSqlLogger logger = new AsyncSampledSqlLogger();
+
+        logger.logSQL(1, "", 5, Category.STATEMENT, "select * from member where age = ?",
+                "select * from member where age = 10", "jdbc:h2:mem:test");
+        logger.logSQL(1, "", 150, Category.STATEMENT, "select * from member where age = ?",
+                "select * from member where age = 20", "jdbc:h2:mem:test");
+
+        for (int i = 0; i < 100 && !output.getOut().contains("slow statement"); i++) {
+            Thread.sleep(20); // 별도 스레드에서 기록
+        }
+        assertThat(output.getOut()).contains("slow statement 150ms connection 1 | select * from member where age = 20");
+        assertThat(output.getOut()).doesNotContain("age = 10");
+    }
+
+    @Test
+    public void categories() {
+        AsyncSampledSqlLogger logger = new AsyncSampledSqlLogger();
+        assertThat(logger.isCategoryEnabled(Category.STATEMENT)).isTrue();
+        assertThat(logger.isCategoryEnabled(Category.BATCH)).isTrue();
+        assertThat(logger.isCategoryEnabled(Category.COMMIT)).isFalse();
+        assertThat(logger.isCategoryEnabled(Category.RESULTSET)).isFalse();
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.sql;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class QueryShapeMetricsTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    QueryShapesEndpoint endpoint;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, 10 * i));
+        }
+        em.flush();
+        em.clear();
+        endpoint.reset();
+    }
+
+    @Test
+    public void recordsPerShape() {
+        queryFactory.selectFrom(member).where(member.age.goe(20)).fetch(); // 3건
+        queryFactory.selectFrom(member).where(member.age.goe(40)).fetch(); // 1건, 값만 다른 같은 모양
+        queryFactory.select(member.count()).from(member).fetchOne();
+
+        List<QueryShapeReport> reports = endpoint.shapes(null, "count");
+        assertThat(reports).hasSize(2);
+
+        QueryShapeReport byAge = reports.get(0);
+        assertThat(byAge.getCount()).isEqualTo(2);
+        assertThat(byAge.getRows()).isEqualTo(4);
+        assertThat(byAge.getMeanRows()).isEqualTo(2.0);
+        assertThat(byAge.getQuery()).startsWith("select member1 from Member member1").contains("age >= ?1"); // JPQL 주석
+        assertThat(byAge.getPercentilesMs()).containsKeys("p50", "p95", "p99");
+        assertThat(meterRegistry.get("sql.query").tag("shape", byAge.getId()).timer().count()).isEqualTo(2);
+
+        assertThat(endpoint.shapes(1, null)).hasSize(1);
+        assertThatThrownBy(() -> endpoint.shapes(1, "unknown")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
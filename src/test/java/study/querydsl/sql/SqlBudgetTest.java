@@ -0,0 +1,160 @@
+package study.querydsl.sql;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.support.SqlBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class SqlBudgetTest {
+    /** {@link LazyLoadingOverBudget} 은 이 설정으로 EngineTestKit 에서 실행할 때만 동작한다 */
+    static final String OVER_BUDGET = "sqlbudget.over-budget";
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    SqlBudgetChecker checker;
+    @Autowired
+    AssociationResolver associationResolver;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 6; i++) {
+            em.persist(new Member("member" + i, 10 * i, teamA));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void repeatedStatements() {
+        SqlStatementScope scope = SqlStatementScope.begin("repeated");
+        try {
+            for (int i = 0; i < 6; i++) {
+                queryFactory.selectFrom(member).where(member.username.eq("member" + i)).fetchOne();
+            }
+        } finally {
+            scope.close();
+        }
+
+        assertThat(scope.getTotalCount()).isEqualTo(6);
+        assertThat(scope.getShapeCounts()).hasSize(1); // 값만 다른 같은 모양
+        List<String> violations = checker.violations(scope, 30, 5);
+        assertThat(violations).hasSize(1);
+        assertThat(violations.get(0)).startsWith("6회 반복");
+    }
+
+    @Test
+    public void nestedScope() {
+        try (SqlStatementScope outer = SqlStatementScope.begin("outer")) {
+            try (SqlStatementScope inner = SqlStatementScope.begin("inner")) {
+                queryFactory.selectFrom(member).fetch();
+                assertThat(inner.getTotalCount()).isEqualTo(1);
+            }
+            queryFactory.selectFrom(member).fetch();
+            assertThat(outer.getTotalCount()).isEqualTo(2);
+        }
+        assertThat(SqlStatementScope.current()).isEmpty();
+    }
+
+    @Test
+    public void resolveAssociation() {
+        assertThat(associationResolver.resolve(SqlShapes.normalize(
+                "select t1_0.team_id,t1_0.name from team t1_0 where t1_0.team_id=?")))
+                .hasValue("Member.team");
+        assertThat(associationResolver.resolve(SqlShapes.normalize(
+                "select m1_0.team_id,m1_0.member_id,m1_0.age,m1_0.username from member m1_0 where m1_0.team_id=?")))
+                .hasValue("Team.members");
+        assertThat(associationResolver.resolve("select m1_0.member_id from member m1_0")).isEmpty();
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 1)
+    public void fetchJoinWithinBudget() {
+        List<Member> members = queryFactory.selectFrom(member)
+                .join(member.team).fetchJoin()
+                .fetch();
+        members.forEach(m -> m.getTeam().getName());
+    }
+
+    @Test
+    public void lazyLoadingOverBudgetFails() {
+        // 다른 스레드에서 실행해서 이 테스트의 트랜잭션에 참여하지 않는다
+        EngineExecutionResults results = CompletableFuture.supplyAsync(() -> EngineTestKit.engine("junit-jupiter")
+                .selectors(selectMethod(LazyLoadingOverBudget.class, "lazyLoading"))
+                .configurationParameter(OVER_BUDGET, "true")
+                .execute()).join();
+        results.testEvents()
+                .assertThatEvents()
+                .haveExactly(1, event(test("lazyLoading"), finishedWithFailure(
+                        instanceOf(SqlBudgetExceededException.class),
+                        message(m -> m.contains("Member.team 지연 로딩")))));
+    }
+
+    static boolean overBudget(ExtensionContext context) {
+        return context.getConfigurationParameter(OVER_BUDGET).isPresent();
+    }
+
+    /**
+     * 예산을 넘기는 테스트 (lazyLoadingOverBudgetFails 에서 실행, 일반 테스트 실행에서는 건너뛴다)
+     */
+    @SpringBootTest
+    @Transactional
+    @EnabledIf("study.querydsl.sql.SqlBudgetTest#overBudget")
+    static class LazyLoadingOverBudget {
+        @Autowired
+        EntityManager em;
+
+        List<Long> memberIds = new ArrayList<>();
+
+        @BeforeEach
+        public void before() {
+            for (int i = 0; i < 6; i++) {
+                Team team = new Team("budget" + i);
+                em.persist(team);
+                Member m = new Member("budget" + i, 10 * i, team);
+                em.persist(m);
+                memberIds.add(m.getId());
+            }
+            em.flush();
+            em.clear();
+        }
+
+        @Test
+        @SqlBudget(maxStatements = 1)
+        public void lazyLoading() {
+            // 한 명씩 읽으면 초기화할 팀 프록시가 하나뿐이라 batch fetch 로 묶이지 않는다 -> 팀 조회 6회
+            for (Long memberId : memberIds) {
+                em.find(Member.class, memberId).getTeam().getName();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.startup;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.stats.TeamAgeStatisticsRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 지연 초기화에서도 Hibernate 이벤트 리스너는 기동할 때 등록되어, 처음 커밋한 변경부터 집계에 반영되어야 한다.
+ */
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+class LazyInitializationConfigTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    TeamAgeStatisticsRegistry registry;
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.username.startsWith("lazy")).execute();
+            queryFactory.delete(team).where(team.name.startsWith("lazy")).execute();
+        });
+        registry.rebuild();
+    }
+
+    @Test
+    public void listenersRegisteredEagerly() {
+        Long teamId = transactionTemplate.execute(status -> {
+            Team lazyTeam = new Team("lazyA");
+            em.persist(lazyTeam);
+            em.persist(new Member("lazy1", 10, lazyTeam));
+            em.persist(new Member("lazy2", 30, lazyTeam));
+            return lazyTeam.getId();
+        });
+
+        assertThat(registry.getTeam(teamId).getCount()).isEqualTo(2);
+        assertThat(registry.getTeam(teamId).getAvg()).isEqualTo(20);
+    }
+}
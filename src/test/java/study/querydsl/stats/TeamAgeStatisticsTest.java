@@ -0,0 +1,180 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 집계는 커밋 이후에 반영되므로 TransactionTemplate 으로 커밋하고, 끝나면 데이터를 지운다.
+ */
+@SpringBootTest
+class TeamAgeStatisticsTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    TeamAgeStatisticsRegistry registry;
+
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("statsA");
+            Team teamB = new Team("statsB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("stats1", 10, teamA));
+            em.persist(new Member("stats2", 20, teamA));
+            em.persist(new Member("stats3", 30, teamB));
+            em.persist(new Member("stats4", 40, teamB));
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.username.startsWith("stats")).execute();
+            queryFactory.delete(team).where(team.name.startsWith("stats")).execute();
+        });
+        registry.rebuild();
+    }
+
+    @Test
+    public void insert() {
+        AgeStatistics teamA = registry.getTeam(teamAId);
+        assertThat(teamA.getCount()).isEqualTo(2);
+        assertThat(teamA.getSum()).isEqualTo(30);
+        assertThat(teamA.getAvg()).isEqualTo(15);
+        assertThat(teamA.getMin()).isEqualTo(10);
+        assertThat(teamA.getMax()).isEqualTo(20);
+        assertThat(registry.getTeam(teamBId).getAvg()).isEqualTo(35);
+        assertSameAsGroupBy(teamAId);
+        assertSameAsGroupBy(teamBId);
+    }
+
+    @Test
+    public void updateAgeAndChangeTeam() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member1 = findMember("stats1");
+            member1.setAge(50);                                  // 나이 변경
+            findMember("stats2").changeTeam(em.find(Team.class, teamBId)); // 팀 이동
+        });
+
+        AgeStatistics teamA = registry.getTeam(teamAId);
+        assertThat(teamA.getCount()).isEqualTo(1);
+        assertThat(teamA.getMin()).isEqualTo(50);
+        AgeStatistics teamB = registry.getTeam(teamBId);
+        assertThat(teamB.getCount()).isEqualTo(3);
+        assertThat(teamB.getMin()).isEqualTo(20);
+        assertThat(teamB.getMax()).isEqualTo(40);
+        assertSameAsGroupBy(teamAId);
+        assertSameAsGroupBy(teamBId);
+    }
+
+    @Test
+    public void deleteAndRollback() {
+        transactionTemplate.executeWithoutResult(status -> em.remove(findMember("stats4")));
+        transactionTemplate.executeWithoutResult(status -> {
+            findMember("stats3").setAge(99);
+            status.setRollbackOnly(); // 롤백된 변경은 반영되지 않는다
+        });
+
+        AgeStatistics teamB = registry.getTeam(teamBId);
+        assertThat(teamB.getCount()).isEqualTo(1);
+        assertThat(teamB.getMax()).isEqualTo(30);
+        assertSameAsGroupBy(teamBId);
+    }
+
+    @Test
+    public void rebuildWhileCommitting() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<Integer> rebuilds = executor.submit(() -> {
+                int count = 0;
+                while (writing.get()) {
+                    registry.rebuild();
+                    count++;
+                }
+                return count;
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 3; w++) {
+                Long teamId = w % 2 == 0 ? teamAId : teamBId;
+                String prefix = "statsC" + w + "-";
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        String username = prefix + i;
+                        int age = i;
+                        transactionTemplate.executeWithoutResult(status ->
+                                em.persist(new Member(username, age, em.find(Team.class, teamId))));
+                        if (i % 3 == 1) {
+                            transactionTemplate.executeWithoutResult(status -> findMember(username).setAge(age + 100));
+                        } else if (i % 3 == 2) {
+                            transactionTemplate.executeWithoutResult(status -> em.remove(findMember(username)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            assertThat(rebuilds.get(60, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        // 재집계와 경합한 커밋도 한 번씩만 반영되어야 한다
+        assertSameAsGroupBy(teamAId);
+        assertSameAsGroupBy(teamBId);
+        Long members = transactionTemplate.execute(status ->
+                queryFactory.select(member.count()).from(member).fetchOne());
+        assertThat(registry.getTotal().getCount()).isEqualTo(members);
+    }
+
+    private Member findMember(String username) {
+        return queryFactory.selectFrom(member).where(member.username.eq(username)).fetchOne();
+    }
+
+    private void assertSameAsGroupBy(Long teamId) {
+        Tuple row = transactionTemplate.execute(status -> queryFactory
+                .select(member.count(), member.age.sum(), member.age.min(), member.age.max())
+                .from(member)
+                .where(member.team.id.eq(teamId))
+                .fetchOne());
+        AgeStatistics stats = registry.getTeam(teamId);
+        assertThat(stats.getCount()).isEqualTo(row.get(member.count()));
+        assertThat(stats.getSum()).isEqualTo(row.get(member.age.sum()).longValue());
+        assertThat(stats.getMin()).isEqualTo(row.get(member.age.min()));
+        assertThat(stats.getMax()).isEqualTo(row.get(member.age.max()));
+    }
+}
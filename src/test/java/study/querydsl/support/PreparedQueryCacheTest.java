@@ -0,0 +1,105 @@
+package study.querydsl.support;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.ParamNotSetException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class PreparedQueryCacheTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PreparedQueryCache preparedQueryCache;
+
+    Param<String> teamName = new Param<>(String.class, "teamName");
+    Param<Integer> minAge = new Param<>(Integer.class, "minAge");
+
+    @BeforeEach
+    public void before() {
+        preparedQueryCache.clear();
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+    }
+
+    @Test
+    public void prepareOnce() {
+        PreparedQuery<Member> first = preparedQueryCache.prepare("test.byTeam", qf -> qf
+                .selectFrom(member)
+                .join(member.team, team)
+                .where(team.name.eq(teamName), member.age.goe(minAge))
+                .orderBy(member.age.asc()));
+        PreparedQuery<Member> second = preparedQueryCache.prepare("test.byTeam", qf -> {
+            throw new AssertionError("이미 캐시된 키는 다시 만들지 않는다");
+        });
+        assertThat(second).isSameAs(first);
+        assertThat(preparedQueryCache.size()).isEqualTo(1);
+
+        assertThat(first.with(teamName, "teamA").with(minAge, 0).fetch())
+                .extracting("username").containsExactly("member1", "member2");
+        assertThat(first.with(teamName, "teamB").with(minAge, 35).fetch())
+                .extracting("username").containsExactly("member4");
+    }
+
+    @Test
+    public void projection() {
+        List<MemberDto> dtos = preparedQueryCache.<MemberDto>prepare("test.dto", qf -> qf
+                        .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                        .from(member)
+                        .where(member.age.goe(minAge))
+                        .orderBy(member.age.asc())
+                        .limit(2))
+                .with(minAge, 20)
+                .fetch();
+        assertThat(dtos).extracting("username").containsExactly("member2", "member3");
+
+        List<Tuple> tuples = preparedQueryCache.<Tuple>prepare("test.tuple", qf -> qf
+                        .select(member.username, member.age)
+                        .from(member)
+                        .where(member.age.goe(minAge)))
+                .with(minAge, 40)
+                .fetch();
+        assertThat(tuples.get(0).get(member.username)).isEqualTo("member4");
+    }
+
+    @Test
+    public void paramNotSet() {
+        PreparedQuery<Member> query = preparedQueryCache.prepare("test.age", qf -> qf
+                .selectFrom(member)
+                .where(member.age.goe(minAge)));
+        assertThatThrownBy(query::fetch).isInstanceOf(ParamNotSetException.class);
+    }
+
+    @Test
+    public void rejectLiteral() {
+        assertThatThrownBy(() -> preparedQueryCache.prepare("test.literal", qf -> qf
+                .selectFrom(member)
+                .where(member.username.eq("member1"), member.age.goe(minAge))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("member1");
+        assertThat(preparedQueryCache.size()).isZero(); // 상수가 고정된 쿼리는 캐시되지 않는다
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class ReadOnlyQueriesTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        em.persist(new Member("member1", 10));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void readOnlyEntityIsNotFlushed() {
+        Member findMember = ReadOnlyQueries.readOnly(queryFactory
+                        .selectFrom(member)
+                        .where(member.username.eq("member1")))
+                .fetchOne();
+        assertThat(em.unwrap(Session.class).isReadOnly(findMember)).isTrue();
+
+        findMember.setAge(99); // 스냅샷이 없으므로 변경 감지 대상이 아니다
+        em.flush();
+        em.clear();
+
+        Member reloaded = queryFactory.selectFrom(member).where(member.username.eq("member1")).fetchOne();
+        assertThat(reloaded.getAge()).isEqualTo(10);
+        assertThat(em.unwrap(Session.class).isReadOnly(reloaded)).isFalse();
+    }
+}
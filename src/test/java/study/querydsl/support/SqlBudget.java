@@ -0,0 +1,21 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메서드 본문에서 실행되는 SQL 수를 제한한다. 초과하거나 같은 SQL 이 반복되면(N+1) 테스트가 실패한다.
+ * (@BeforeEach 의 데이터 준비 SQL 은 집계하지 않는다)
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+    int maxStatements() default 30;
+
+    int repeatedThreshold() default 5;
+}
@@ -0,0 +1,31 @@
+package study.querydsl.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import study.querydsl.sql.SqlBudgetChecker;
+import study.querydsl.sql.SqlStatementScope;
+
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("scope", SqlStatementScope.begin(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementScope scope = context.getStore(NAMESPACE).remove("scope", SqlStatementScope.class);
+        scope.close();
+        SqlBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlBudget.class))
+                .orElseThrow();
+        SpringExtension.getApplicationContext(context)
+                .getBean(SqlBudgetChecker.class)
+                .check(scope, budget.maxStatements(), budget.repeatedThreshold(), true);
+    }
+}
@@ -0,0 +1,160 @@
+package study.querydsl.support;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class SubqueryHoisterTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    QMember memberSub = new QMember("memberSub");
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+    }
+
+    @Test
+    public void whereMax() {
+        JPAQuery<Member> query = SubqueryHoister.hoist(queryFactory
+                .selectFrom(member)
+                .where(member.age.eq(JPAExpressions.select(memberSub.age.max()).from(memberSub))), em);
+
+        assertThat(query.toString()).doesNotContain("memberSub");
+        assertThat(query.fetch()).extracting("age").containsExactly(50);
+    }
+
+    @Test
+    public void whereAvg() {
+        JPAQuery<Member> query = SubqueryHoister.hoist(queryFactory
+                .selectFrom(member)
+                .where(member.age.goe(JPAExpressions.select(memberSub.age.avg()).from(memberSub))), em);
+
+        assertThat(query.toString()).doesNotContain("memberSub").contains("cast(?1 as Double)"); // 값이 바뀌어도 JPQL 은 같다
+        assertThat(query.fetch()).extracting("age").containsExactlyInAnyOrder(30, 40, 50);
+    }
+
+    @Test
+    public void keepsQueryOptions() {
+        JPAQuery<Member> original = queryFactory
+                .selectFrom(member)
+                .where(member.age.eq(JPAExpressions.select(memberSub.age.max()).from(memberSub)))
+                .setLockMode(LockModeType.PESSIMISTIC_READ)
+                .setFlushMode(FlushModeType.COMMIT)
+                .setHint("jakarta.persistence.query.timeout", 5_000);
+
+        Query hoisted = SubqueryHoister.hoist(original, em).createQuery();
+
+        assertThat(hoisted.getLockMode()).isEqualTo(LockModeType.PESSIMISTIC_READ);
+        assertThat(hoisted.getFlushMode()).isEqualTo(FlushModeType.COMMIT);
+        assertThat(hoisted.getHints()).containsKey("jakarta.persistence.query.timeout");
+    }
+
+    @Test
+    public void selectSingleRemainingColumnWithNull() {
+        JPQLQuery<Double> avgAge = JPAExpressions.select(memberSub.age.avg()).from(memberSub);
+        JPAQuery<Tuple> query = SubqueryHoister.hoist(queryFactory
+                .select(team.name, avgAge)
+                .from(member)
+                .leftJoin(member.team, team)
+                .orderBy(member.username.asc()), em);
+
+        List<Tuple> result = query.fetch();
+        assertThat(result).hasSize(5).doesNotContainNull(); // 팀 없는 member5 도 null 행이 아니라 (null, 30.0)
+        assertThat(result).extracting(tuple -> tuple.get(team.name))
+                .containsExactly("teamA", "teamA", "teamB", "teamB", null);
+        assertThat(result).extracting(tuple -> tuple.get(avgAge)).containsOnly(30.0);
+    }
+
+    @Test
+    public void selectUncorrelated() {
+        JPQLQuery<Double> avgAge = JPAExpressions.select(memberSub.age.avg()).from(memberSub);
+        JPAQuery<Tuple> query = SubqueryHoister.hoist(queryFactory
+                .select(member.username, avgAge)
+                .from(member), em);
+
+        assertThat(query.toString()).doesNotContain("memberSub");
+        List<Tuple> result = query.fetch();
+        assertThat(result).hasSize(5);
+        assertThat(result).extracting(tuple -> tuple.get(avgAge)).containsOnly(30.0);
+    }
+
+    @Test
+    public void selectCorrelated() {
+        JPQLQuery<Integer> teamMaxAge = JPAExpressions
+                .select(memberSub.age.max())
+                .from(memberSub)
+                .where(memberSub.team.id.eq(member.team.id));
+        JPQLQuery<Long> olderInTeam = JPAExpressions
+                .select(memberSub.count())
+                .from(memberSub)
+                .where(memberSub.team.id.eq(member.team.id), memberSub.age.gt(25));
+        JPAQuery<Tuple> query = SubqueryHoister.hoist(queryFactory
+                .select(member.username, teamMaxAge, olderInTeam)
+                .from(member)
+                .orderBy(member.username.asc()), em);
+
+        assertThat(query.toString()).doesNotContain("memberSub");
+        List<Tuple> result = query.fetch();
+        assertThat(result).extracting(tuple -> tuple.get(member.username))
+                .containsExactly("member1", "member2", "member3", "member4", "member5");
+        assertThat(result).extracting(tuple -> tuple.get(teamMaxAge)).containsExactly(20, 20, 40, 40, null);
+        assertThat(result).extracting(tuple -> tuple.get(olderInTeam)).containsExactly(0L, 0L, 2L, 2L, 0L);
+    }
+
+    @Test
+    public void correlatedWithoutEqualityIsKept() {
+        JPAQuery<Tuple> query = SubqueryHoister.hoist(queryFactory
+                .select(member.username, JPAExpressions
+                        .select(memberSub.age.max())
+                        .from(memberSub)
+                        .where(memberSub.age.lt(member.age)))
+                .from(member), em);
+
+        assertThat(query.toString()).contains("memberSub");
+        assertThat(query.fetch()).hasSize(5);
+    }
+
+    @Test
+    public void existsIsKept() {
+        JPAQuery<Member> query = SubqueryHoister.hoist(queryFactory
+                .selectFrom(member)
+                .where(JPAExpressions.select(memberSub.age.max()).from(memberSub).exists()), em);
+
+        assertThat(query.toString()).contains("memberSub");
+        assertThat(query.fetch()).hasSize(5);
+    }
+}